@@ -0,0 +1,45 @@
+package com.ffreitas.springtestingexample.benchmark;
+
+import com.ffreitas.springtestingexample.dto.StudentRequest;
+import com.ffreitas.springtestingexample.dto.StudentResponse;
+import com.ffreitas.springtestingexample.entity.Student;
+import com.ffreitas.springtestingexample.mapper.StudentMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    static List<Student> students(int size) {
+        List<Student> students = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++)
+            students.add(student(i));
+
+        return students;
+    }
+
+    static Student student(int i) {
+        return Student
+                .builder()
+                .id(String.format("66f1a0%018x", i))
+                .firstName("Student" + i)
+                .lastName("Name" + i)
+                .email("student" + i + "@gmail.com")
+                .build();
+    }
+
+    static List<StudentResponse> responses(int size) {
+        return students(size)
+                .stream()
+                .map(StudentMapper::toResponse)
+                .toList();
+    }
+
+    static StudentRequest request(int i) {
+        return new StudentRequest(null, "Student" + i, "Name" + i, "student" + i + "@gmail.com");
+    }
+}
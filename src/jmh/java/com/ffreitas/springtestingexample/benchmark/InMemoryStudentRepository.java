@@ -0,0 +1,71 @@
+package com.ffreitas.springtestingexample.benchmark;
+
+import com.ffreitas.springtestingexample.entity.Student;
+import com.ffreitas.springtestingexample.repository.StudentRepository;
+import org.bson.types.ObjectId;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.lang.reflect.Proxy;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Map backed stand-in for {@link StudentRepository}, so service benchmarks measure the service itself and not
+ * Mongo. Only the methods used by {@code StudentService} are supported.
+ */
+final class InMemoryStudentRepository {
+
+    private final NavigableMap<String, Student> students = new ConcurrentSkipListMap<>();
+
+    private final Map<String, String> emails = new ConcurrentHashMap<>();
+
+    static StudentRepository create(Collection<Student> initial) {
+        InMemoryStudentRepository store = new InMemoryStudentRepository();
+        initial.forEach(store::insert);
+
+        return (StudentRepository) Proxy.newProxyInstance(
+                StudentRepository.class.getClassLoader(),
+                new Class<?>[]{StudentRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "insert", "save" -> store.insert((Student) args[0]);
+                    case "findById", "findProjectedById" -> Optional.ofNullable(store.students.get((String) args[0]));
+                    case "findByEmail", "findProjectedByEmail" -> Optional.ofNullable(store.emails.get((String) args[0])).map(store.students::get);
+                    case "existsByEmail" -> store.emails.containsKey((String) args[0]);
+                    case "findAll", "findAllProjected" -> new ArrayList<>(store.students.values());
+                    case "streamAll" -> store.students.values().stream();
+                    case "findPage" -> store.page((String) args[0], (int) args[1]);
+                    case "deleteById" -> store.delete((String) args[0]);
+                    case "count" -> (long) store.students.size();
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "InMemoryStudentRepository";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private Student insert(Student student) {
+        if (student.getId() == null)
+            student.setId(new ObjectId().toHexString());
+
+        if (emails.putIfAbsent(student.getEmail(), student.getId()) != null)
+            throw new DuplicateKeyException("E11000 duplicate key error index: email");
+
+        students.put(student.getId(), student);
+        return student;
+    }
+
+    private List<Student> page(String afterId, int limit) {
+        var tail = afterId == null ? students.values() : students.tailMap(afterId, false).values();
+        return tail.stream().limit(limit).toList();
+    }
+
+    private Object delete(String id) {
+        Student removed = students.remove(id);
+
+        if (removed != null)
+            emails.remove(removed.getEmail());
+
+        return null;
+    }
+}
@@ -0,0 +1,88 @@
+package com.ffreitas.springtestingexample.benchmark;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.ffreitas.springtestingexample.dto.StudentResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Wire size and serialization cost of {@code GET /api/v1/students} for each negotiated format,
+ * with and without the gzip content encoding applied by the server.
+ * <p>
+ * Encoded sizes are printed once per trial, since JMH only reports time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StudentEncodingBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int size;
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    private ObjectMapper objectMapper;
+
+    private List<StudentResponse> responses;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = switch (format) {
+            case "json" -> new ObjectMapper();
+            case "cbor" -> new ObjectMapper(new CBORFactory());
+            case "smile" -> new ObjectMapper(new SmileFactory());
+            default -> throw new IllegalArgumentException("Format " + format + " is not supported");
+        };
+        responses = BenchmarkData.responses(size);
+
+        System.out.printf("%n# %s, %d students: %d bytes, %d bytes gzip%n",
+                format, size, encode().length, encodeGzip().length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return objectMapper.writeValueAsBytes(responses);
+    }
+
+    @Benchmark
+    public byte[] encodeGzip() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            objectMapper.writeValue(gzip, responses);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    @Benchmark
+    public List<StudentResponse> decode(DecodeState state) throws IOException {
+        return objectMapper.readValue(state.payload, state.type);
+    }
+
+    @State(Scope.Benchmark)
+    public static class DecodeState {
+
+        private byte[] payload;
+
+        private JavaType type;
+
+        @Setup
+        public void setUp(StudentEncodingBenchmark benchmark) throws IOException {
+            payload = benchmark.encode();
+            type = benchmark.objectMapper.getTypeFactory().constructCollectionType(List.class, StudentResponse.class);
+        }
+    }
+}
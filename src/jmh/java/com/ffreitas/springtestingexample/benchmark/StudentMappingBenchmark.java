@@ -0,0 +1,66 @@
+package com.ffreitas.springtestingexample.benchmark;
+
+import com.ffreitas.springtestingexample.dto.StudentResponse;
+import com.ffreitas.springtestingexample.entity.Student;
+import com.ffreitas.springtestingexample.mapper.StudentMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code Student} to {@code StudentResponse} mapping, as done by the read paths of {@code StudentService}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StudentMappingBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int size;
+
+    private List<Student> students;
+
+    @Setup
+    public void setUp() {
+        students = BenchmarkData.students(size);
+    }
+
+    @Benchmark
+    public List<StudentResponse> constructor() {
+        return students
+                .stream()
+                .map(student -> new StudentResponse(
+                        student.getId(),
+                        student.getFirstName(),
+                        student.getLastName(),
+                        student.getEmail()
+                ))
+                .toList();
+    }
+
+    @Benchmark
+    public List<StudentResponse> mapper() {
+        return students
+                .stream()
+                .map(StudentMapper::toResponse)
+                .toList();
+    }
+
+    @Benchmark
+    public List<StudentResponse> builder() {
+        return students
+                .stream()
+                .map(student -> StudentResponse
+                        .builder()
+                        .id(student.getId())
+                        .firstName(student.getFirstName())
+                        .lastName(student.getLastName())
+                        .email(student.getEmail())
+                        .build())
+                .toList();
+    }
+}
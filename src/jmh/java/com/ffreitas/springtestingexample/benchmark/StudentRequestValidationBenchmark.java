@@ -0,0 +1,68 @@
+package com.ffreitas.springtestingexample.benchmark;
+
+import com.ffreitas.springtestingexample.dto.StudentRequest;
+import com.ffreitas.springtestingexample.validation.StudentRequestValidator;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bean Validation of {@code StudentRequest}, as triggered by {@code @Valid} on every create request, against the
+ * hand-written {@code StudentRequestValidator} now used for create and bulk requests.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StudentRequestValidationBenchmark {
+
+    private ValidatorFactory validatorFactory;
+
+    private Validator validator;
+
+    private StudentRequestValidator studentRequestValidator;
+
+    private final StudentRequest valid = new StudentRequest(null, "John", "Doe", "john.doe@gmail.com");
+
+    private final StudentRequest invalid = new StudentRequest(null, "", null, "john.doe@@gmail");
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        studentRequestValidator = new StudentRequestValidator(validator);
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<StudentRequest>> validRequest() {
+        return validator.validate(valid);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<StudentRequest>> invalidRequest() {
+        return validator.validate(invalid);
+    }
+
+    @Benchmark
+    public List<String> validRequestFastPath() {
+        return studentRequestValidator.validate(valid);
+    }
+
+    @Benchmark
+    public List<String> invalidRequestFastPath() {
+        return studentRequestValidator.validate(invalid);
+    }
+}
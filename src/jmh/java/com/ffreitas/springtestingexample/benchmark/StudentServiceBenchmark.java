@@ -0,0 +1,63 @@
+package com.ffreitas.springtestingexample.benchmark;
+
+import com.ffreitas.springtestingexample.dto.StudentPage;
+import com.ffreitas.springtestingexample.dto.StudentResponse;
+import com.ffreitas.springtestingexample.metrics.StudentMetrics;
+import com.ffreitas.springtestingexample.repository.StudentRepository;
+import com.ffreitas.springtestingexample.service.StudentService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code StudentService} calls against {@link InMemoryStudentRepository}, isolating service overhead from Mongo.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StudentServiceBenchmark {
+
+    @Param({"1000"})
+    private int size;
+
+    private StudentService service;
+
+    private String existingId;
+
+    private int sequence;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        var students = BenchmarkData.students(size);
+        StudentRepository repository = InMemoryStudentRepository.create(students);
+
+        service = new StudentService(repository, new StudentMetrics(new SimpleMeterRegistry()));
+        existingId = students.get(size / 2).getId();
+        sequence = size;
+    }
+
+    @Benchmark
+    public StudentResponse getStudent() {
+        return service.getStudent(existingId);
+    }
+
+    @Benchmark
+    public List<StudentResponse> getAllStudents() {
+        return service.getAllStudents();
+    }
+
+    @Benchmark
+    public StudentPage getStudentsPage() {
+        return service.getStudentsPage(100, null);
+    }
+
+    @Benchmark
+    public StudentResponse createStudent() {
+        return service.createStudent(BenchmarkData.request(sequence++));
+    }
+}
@@ -0,0 +1,84 @@
+package com.ffreitas.springtestingexample.benchmark;
+
+import com.ffreitas.springtestingexample.entity.Student;
+import com.ffreitas.springtestingexample.metrics.StudentMetrics;
+import com.ffreitas.springtestingexample.repository.StudentRepository;
+import com.ffreitas.springtestingexample.service.StudentService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Blocking {@code StudentService#getStudent} load on a platform pool sized like the default Tomcat pool
+ * (200 threads) against one virtual thread per request, with a repository that blocks like a slow Mongo.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StudentServiceThreadingBenchmark {
+
+    private static final Duration LATENCY = Duration.ofMillis(50);
+
+    private static final int TOMCAT_MAX_THREADS = 200;
+
+    @Param({"platform", "virtual"})
+    private String threads;
+
+    @Param({"2000"})
+    private int requests;
+
+    private StudentService service;
+
+    private ExecutorService executor;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        StudentRepository repository = (StudentRepository) Proxy.newProxyInstance(
+                StudentRepository.class.getClassLoader(),
+                new Class<?>[]{StudentRepository.class},
+                (proxy, method, args) -> {
+                    if (!method.getName().equals("findById"))
+                        throw new UnsupportedOperationException(method.getName());
+
+                    Thread.sleep(LATENCY);
+                    return Optional.of(Student.builder().id((String) args[0]).email(args[0] + "@gmail.com").build());
+                });
+
+        service = new StudentService(repository, new StudentMetrics(new SimpleMeterRegistry()));
+        executor = threads.equals("virtual")
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        executor.close();
+    }
+
+    @Benchmark
+    public int getStudent() throws Exception {
+        List<Future<?>> futures = new ArrayList<>(requests);
+
+        for (int i = 0; i < requests; i++) {
+            String id = String.valueOf(i);
+            futures.add(executor.submit(() -> service.getStudent(id)));
+        }
+
+        for (Future<?> future : futures)
+            future.get();
+
+        return futures.size();
+    }
+}
@@ -0,0 +1,61 @@
+package com.ffreitas.springtestingexample.benchmark;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ffreitas.springtestingexample.dto.StudentResponse;
+import com.ffreitas.springtestingexample.entity.Student;
+import com.ffreitas.springtestingexample.mapper.StudentJsonWriter;
+import com.ffreitas.springtestingexample.mapper.StudentMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Listing serialization with and without the intermediate {@code List<StudentResponse>}. Run with {@code -prof gc}
+ * to compare {@code gc.alloc.rate.norm} between the two paths.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StudentStreamingBenchmark {
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private List<Student> students;
+
+    @Setup
+    public void setUp() {
+        students = BenchmarkData.students(size);
+    }
+
+    @Benchmark
+    public void responseList() throws IOException {
+        List<StudentResponse> responses = students
+                .stream()
+                .map(StudentMapper::toResponse)
+                .toList();
+
+        objectMapper.writeValue(OutputStream.nullOutputStream(), responses);
+    }
+
+    @Benchmark
+    public void directWrite() throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(OutputStream.nullOutputStream())) {
+            generator.setRootValueSeparator(null);
+
+            for (Student student : students) {
+                StudentJsonWriter.write(generator, student);
+                generator.writeRaw('\n');
+            }
+        }
+    }
+}
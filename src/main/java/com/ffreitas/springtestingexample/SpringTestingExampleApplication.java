@@ -1,9 +1,18 @@
 package com.ffreitas.springtestingexample;
 
+import com.ffreitas.springtestingexample.dto.StudentImportResult;
+import com.ffreitas.springtestingexample.dto.StudentRequest;
+import com.ffreitas.springtestingexample.dto.StudentResponse;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.cache.annotation.EnableCaching;
 
+@EnableCaching
 @SpringBootApplication
+@ConfigurationPropertiesScan
+@RegisterReflectionForBinding({StudentRequest.class, StudentResponse.class, StudentImportResult.class})
 public class SpringTestingExampleApplication {
 
     public static void main(String[] args) {
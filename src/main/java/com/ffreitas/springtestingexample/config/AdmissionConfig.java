@@ -0,0 +1,25 @@
+package com.ffreitas.springtestingexample.config;
+
+import com.ffreitas.springtestingexample.filter.StudentAdmissionFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class AdmissionConfig {
+
+    @Bean
+    public FilterRegistrationBean<StudentAdmissionFilter> studentAdmissionFilter(StudentAdmissionProperties properties,
+                                                                                 MeterRegistry registry) {
+        FilterRegistrationBean<StudentAdmissionFilter> registration =
+                new FilterRegistrationBean<>(new StudentAdmissionFilter(properties, registry));
+
+        registration.addUrlPatterns("/api/v1/students", "/api/v1/students/*", "/api/v1/admin/students/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        return registration;
+    }
+}
@@ -0,0 +1,19 @@
+package com.ffreitas.springtestingexample.config;
+
+import com.ffreitas.springtestingexample.filter.ConsistencyTokenInterceptor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class ConsistencyConfig implements WebMvcConfigurer {
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry
+                .addInterceptor(new ConsistencyTokenInterceptor())
+                .addPathPatterns("/api/v1/students", "/api/v1/students/**", "/api/v1/admin/students/**");
+    }
+}
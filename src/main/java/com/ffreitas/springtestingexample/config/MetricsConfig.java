@@ -0,0 +1,28 @@
+package com.ffreitas.springtestingexample.config;
+
+import com.ffreitas.springtestingexample.metrics.RepositoryMetricsListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+@Configuration(proxyBeanMethods = false)
+public class MetricsConfig {
+
+    @Bean
+    public static BeanPostProcessor repositoryMetricsBeanPostProcessor(ObjectProvider<MeterRegistry> registry) {
+        RepositoryMetricsListener listener = new RepositoryMetricsListener(registry);
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean)
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addInvocationListener(listener));
+
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,80 @@
+package com.ffreitas.springtestingexample.config;
+
+import com.ffreitas.springtestingexample.entity.Student;
+import com.ffreitas.springtestingexample.repository.ConsistencyTokenListener;
+import com.mongodb.MongoCompressor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.data.mongodb.config.EnableMongoAuditing;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@EnableMongoAuditing
+@Configuration(proxyBeanMethods = false)
+public class MongoConfig {
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer studentMongoClientSettingsCustomizer(StudentMongoProperties properties) {
+        var pool = properties.pool();
+        var timeouts = properties.timeouts();
+        var compressors = compressors(properties.compressors());
+
+        return builder -> builder
+                .compressorList(compressors)
+                .addCommandListener(new ConsistencyTokenListener())
+                .applyToConnectionPoolSettings(settings -> settings
+                        .maxSize(pool.maxSize())
+                        .minSize(pool.minSize())
+                        .maxWaitTime(pool.maxWaitTime().toMillis(), TimeUnit.MILLISECONDS)
+                        .maxConnectionIdleTime(pool.maxConnectionIdleTime().toMillis(), TimeUnit.MILLISECONDS)
+                        .maxConnectionLifeTime(pool.maxConnectionLifeTime().toMillis(), TimeUnit.MILLISECONDS))
+                .applyToSocketSettings(settings -> settings
+                        .connectTimeout(timeouts.connect().toMillis(), TimeUnit.MILLISECONDS)
+                        .readTimeout(timeouts.socketRead().toMillis(), TimeUnit.MILLISECONDS))
+                .applyToClusterSettings(settings -> settings
+                        .serverSelectionTimeout(timeouts.serverSelection().toMillis(), TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * With {@code spring.data.mongodb.auto-index-creation} off, the {@link Student} indexes are created once the
+     * application is ready instead of while the mapping context starts, so startup never waits for Mongo.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "student.mongo", name = "indexes-on-ready", havingValue = "true")
+    public ApplicationListener<ApplicationReadyEvent> studentIndexInitializer(MongoTemplate mongoTemplate,
+                                                                             @Qualifier("applicationTaskExecutor") AsyncTaskExecutor executor) {
+        return event -> executor.execute(() -> {
+            IndexOperations indexes = mongoTemplate.indexOps(Student.class);
+
+            new MongoPersistentEntityIndexResolver(mongoTemplate.getConverter().getMappingContext())
+                    .resolveIndexFor(Student.class)
+                    .forEach(indexes::ensureIndex);
+
+            log.info("Student indexes ensured after startup");
+        });
+    }
+
+    static List<MongoCompressor> compressors(List<String> names) {
+        return names
+                .stream()
+                .map(name -> switch (name) {
+                    case "zstd" -> MongoCompressor.createZstdCompressor();
+                    case "snappy" -> MongoCompressor.createSnappyCompressor();
+                    case "zlib" -> MongoCompressor.createZlibCompressor();
+                    default -> throw new IllegalArgumentException("Compressor " + name + " is not supported");
+                })
+                .toList();
+    }
+}
@@ -0,0 +1,50 @@
+package com.ffreitas.springtestingexample.config;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Async MVC support for the streaming endpoints ({@code /stream} and the admin export).
+ * <p>
+ * The container's default async timeout (30s on Tomcat) would cut a full-collection stream off midway, after the
+ * 200 status was already sent, so the timeout is raised to {@code student.streaming.timeout}. Streams run on
+ * their own bounded executor instead of the shared {@code applicationTaskExecutor}.
+ * </p>
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class StreamingConfig implements WebMvcConfigurer {
+
+    private final StudentStreamingProperties properties;
+
+    private final AsyncTaskExecutor executor;
+
+    public StreamingConfig(StudentStreamingProperties properties,
+                           @Qualifier("studentStreamingExecutor") AsyncTaskExecutor executor) {
+        this.properties = properties;
+        this.executor = executor;
+    }
+
+    @Bean
+    public static SimpleAsyncTaskExecutor studentStreamingExecutor(StudentStreamingProperties properties, Environment environment) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("student-streaming-");
+        executor.setVirtualThreads(Threading.VIRTUAL.isActive(environment));
+        executor.setConcurrencyLimit(properties.maxConcurrency());
+        executor.setRejectTasksWhenLimitReached(true);
+        return executor;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(executor);
+        configurer.setDefaultTimeout(properties.timeout().toMillis());
+    }
+}
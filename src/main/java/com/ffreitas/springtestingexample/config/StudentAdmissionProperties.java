@@ -0,0 +1,81 @@
+package com.ffreitas.springtestingexample.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+
+@ConfigurationProperties(prefix = "student.admission")
+public record StudentAdmissionProperties(
+
+        @DefaultValue("true")
+        boolean enabled,
+
+        @DefaultValue("X-Client-Id")
+        String clientHeader,
+
+        @DefaultValue
+        Set<String> trustedProxies,
+
+        @DefaultValue
+        Rate rate,
+
+        Map<String, Rate> endpoints,
+
+        @DefaultValue({"list", "stream", "export"})
+        Set<String> expensiveEndpoints,
+
+        @DefaultValue("4")
+        int expensiveConcurrency,
+
+        @DefaultValue
+        Adaptive adaptive,
+
+        @DefaultValue("10m")
+        Duration idleTimeout
+
+) {
+
+    public Rate rate(String endpoint) {
+        return endpoints == null ? rate : endpoints.getOrDefault(endpoint, rate);
+    }
+
+    public record Rate(
+
+            @DefaultValue("100")
+            int capacity,
+
+            @DefaultValue("50")
+            double perSecond
+
+    ) {
+    }
+
+    public record Adaptive(
+
+            @DefaultValue("true")
+            boolean enabled,
+
+            @DefaultValue("250ms")
+            Duration targetLatency,
+
+            @DefaultValue("200")
+            int initialLimit,
+
+            @DefaultValue("20")
+            int minLimit,
+
+            @DefaultValue("1000")
+            int maxLimit,
+
+            @DefaultValue("0.9")
+            double backoff,
+
+            @DefaultValue({"list", "stream", "export", "import", "bulk"})
+            Set<String> unsampledEndpoints
+
+    ) {
+    }
+}
@@ -0,0 +1,29 @@
+package com.ffreitas.springtestingexample.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "student.change-stream")
+public record StudentChangeStreamProperties(
+
+        @DefaultValue("false")
+        boolean enabled,
+
+        String nodeId,
+
+        @DefaultValue("500")
+        int batchSize,
+
+        @DefaultValue("1s")
+        Duration maxAwaitTime,
+
+        @DefaultValue("5s")
+        Duration tokenSaveInterval,
+
+        @DefaultValue("5s")
+        Duration retryInterval
+
+) {
+}
@@ -0,0 +1,68 @@
+package com.ffreitas.springtestingexample.config;
+
+import com.mongodb.ReadPreference;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "student.mongo")
+public record StudentMongoProperties(
+
+        @DefaultValue
+        Pool pool,
+
+        @DefaultValue({"zstd", "snappy"})
+        List<String> compressors,
+
+        @DefaultValue("nearest")
+        ReadPreference readPreference,
+
+        @DefaultValue
+        Timeouts timeouts
+
+) {
+
+    public record Pool(
+
+            @DefaultValue("50")
+            int maxSize,
+
+            @DefaultValue("5")
+            int minSize,
+
+            @DefaultValue("2s")
+            Duration maxWaitTime,
+
+            @DefaultValue("5m")
+            Duration maxConnectionIdleTime,
+
+            @DefaultValue("30m")
+            Duration maxConnectionLifeTime
+
+    ) {
+    }
+
+    /**
+     * {@code socketRead} applies to every read on every pooled connection, including unpaged reads, exact counts,
+     * exports and change stream getMores, so it stays off ({@code 0}) and queries are bounded per query by
+     * {@code read} instead. When set, it must exceed the longest of those operations.
+     */
+    public record Timeouts(
+
+            @DefaultValue("5s")
+            Duration connect,
+
+            @DefaultValue("0")
+            Duration socketRead,
+
+            @DefaultValue("5s")
+            Duration serverSelection,
+
+            @DefaultValue("2s")
+            Duration read
+
+    ) {
+    }
+}
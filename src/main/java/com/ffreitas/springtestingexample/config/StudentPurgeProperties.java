@@ -0,0 +1,24 @@
+package com.ffreitas.springtestingexample.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "student.purge")
+public record StudentPurgeProperties(
+
+        @DefaultValue("1000")
+        int batchSize,
+
+        @DefaultValue("5")
+        int maxBatchesPerSecond,
+
+        @DefaultValue("10")
+        int maxQueuedJobs,
+
+        @DefaultValue("1h")
+        Duration retention
+
+) {
+}
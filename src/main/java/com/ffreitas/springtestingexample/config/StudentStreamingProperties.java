@@ -0,0 +1,18 @@
+package com.ffreitas.springtestingexample.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "student.streaming")
+public record StudentStreamingProperties(
+
+        @DefaultValue("12h")
+        Duration timeout,
+
+        @DefaultValue("16")
+        int maxConcurrency
+
+) {
+}
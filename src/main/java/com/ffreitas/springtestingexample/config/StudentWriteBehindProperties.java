@@ -0,0 +1,27 @@
+package com.ffreitas.springtestingexample.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "student.write-behind")
+public record StudentWriteBehindProperties(
+
+        @DefaultValue("false")
+        boolean enabled,
+
+        @DefaultValue("10000")
+        int capacity,
+
+        @DefaultValue("500")
+        int batchSize,
+
+        @DefaultValue("100ms")
+        Duration flushInterval,
+
+        @DefaultValue("10m")
+        Duration statusRetention
+
+) {
+}
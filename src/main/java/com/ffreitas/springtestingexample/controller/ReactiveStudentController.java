@@ -0,0 +1,56 @@
+package com.ffreitas.springtestingexample.controller;
+
+import com.ffreitas.springtestingexample.dto.StudentRequest;
+import com.ffreitas.springtestingexample.dto.StudentResponse;
+import com.ffreitas.springtestingexample.service.ReactiveStudentService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Slf4j
+@Profile("reactive")
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/students")
+public class ReactiveStudentController {
+
+    private final ReactiveStudentService studentService;
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<Void> createStudent(@RequestBody @Valid Mono<StudentRequest> studentRequest) {
+        return studentRequest
+                .flatMap(studentService::createStudent)
+                .doOnNext(response -> log.info("Student created with ID: {}", response.id()))
+                .then();
+    }
+
+    @GetMapping("/{student-id}")
+    @ResponseStatus(HttpStatus.OK)
+    public Mono<StudentResponse> getStudent(@PathVariable("student-id") String id) {
+        return studentService.getStudent(id);
+    }
+
+    @GetMapping
+    @ResponseStatus(HttpStatus.OK)
+    public Flux<StudentResponse> getAllStudents() {
+        return studentService.getAllStudents();
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<StudentResponse> streamAllStudents() {
+        return studentService.getAllStudents();
+    }
+
+    @DeleteMapping("/{student-id}")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public Mono<Void> deleteStudent(@PathVariable("student-id") String id) {
+        return studentService.deleteStudent(id);
+    }
+}
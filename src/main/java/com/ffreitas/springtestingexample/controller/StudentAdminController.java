@@ -0,0 +1,114 @@
+package com.ffreitas.springtestingexample.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.ffreitas.springtestingexample.dto.StudentImportResult;
+import com.ffreitas.springtestingexample.dto.StudentRequest;
+import com.ffreitas.springtestingexample.mapper.StudentCsvMapper;
+import com.ffreitas.springtestingexample.mapper.StudentJsonWriter;
+import com.ffreitas.springtestingexample.service.StudentBulkService;
+import com.ffreitas.springtestingexample.service.StudentService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Full-collection export and import for backups and analytics extracts.
+ * <p>
+ * Exports read from a Mongo cursor and write one row at a time, imports parse one row at a time and write
+ * chunks of {@link StudentBulkService#CHUNK_SIZE}, so memory does not grow with the size of the collection.
+ * </p>
+ */
+@Slf4j
+@Profile("!reactive")
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/admin/students")
+public class StudentAdminController {
+
+    private static final String EXPORT_BATCH_SIZE = "1000";
+
+    private final StudentService studentService;
+
+    private final StudentBulkService studentBulkService;
+
+    private final ObjectMapper objectMapper;
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportNdjson(@RequestParam(name = "batchSize", defaultValue = EXPORT_BATCH_SIZE) int batchSize) {
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.setRootValueSeparator(null);
+                studentService.streamStudents(null, batchSize, student -> {
+                    try {
+                        StudentJsonWriter.write(generator, student);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+
+        return export(MediaType.APPLICATION_NDJSON, "students.ndjson", body);
+    }
+
+    @GetMapping(value = "/export", produces = StudentCsvMapper.TEXT_CSV_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportCsv(@RequestParam(name = "batchSize", defaultValue = EXPORT_BATCH_SIZE) int batchSize) {
+        StreamingResponseBody body = outputStream -> {
+            try (SequenceWriter writer = StudentCsvMapper.writer(outputStream)) {
+                studentService.streamStudents(null, batchSize, student -> {
+                    try {
+                        StudentCsvMapper.write(writer, student);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+
+        return export(MediaType.parseMediaType(StudentCsvMapper.TEXT_CSV_VALUE), "students.csv", body);
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    public StudentImportResult importNdjson(InputStream body) throws IOException {
+        try (MappingIterator<StudentRequest> studentRequests = objectMapper.readerFor(StudentRequest.class).readValues(body)) {
+            return importStudents(studentRequests);
+        }
+    }
+
+    @PostMapping(value = "/import", consumes = StudentCsvMapper.TEXT_CSV_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    public StudentImportResult importCsv(InputStream body) throws IOException {
+        try (MappingIterator<StudentRequest> studentRequests = StudentCsvMapper.reader(body)) {
+            return importStudents(studentRequests);
+        }
+    }
+
+    private StudentImportResult importStudents(MappingIterator<StudentRequest> studentRequests) {
+        var result = studentBulkService.importStudents(studentRequests);
+        log.info("Student import processed {} rows, created {}", result.processed(), result.created());
+        return result;
+    }
+
+    private static ResponseEntity<StreamingResponseBody> export(MediaType contentType, String fileName, StreamingResponseBody body) {
+        return ResponseEntity
+                .ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .body(body);
+    }
+}
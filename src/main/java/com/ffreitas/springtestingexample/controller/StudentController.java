@@ -1,17 +1,51 @@
 package com.ffreitas.springtestingexample.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ffreitas.springtestingexample.dto.StudentBulkResult;
+import com.ffreitas.springtestingexample.dto.StudentCountResponse;
+import com.ffreitas.springtestingexample.dto.StudentListVersion;
+import com.ffreitas.springtestingexample.dto.StudentLookupRequest;
+import com.ffreitas.springtestingexample.dto.StudentLookupResponse;
+import com.ffreitas.springtestingexample.dto.StudentPage;
+import com.ffreitas.springtestingexample.dto.StudentPurgeRequest;
+import com.ffreitas.springtestingexample.dto.StudentPurgeStatus;
 import com.ffreitas.springtestingexample.dto.StudentRequest;
 import com.ffreitas.springtestingexample.dto.StudentResponse;
+import com.ffreitas.springtestingexample.dto.StudentWriteStatus;
+import com.ffreitas.springtestingexample.dto.WriteConcernLevel;
+import com.ffreitas.springtestingexample.entity.Student;
+import com.ffreitas.springtestingexample.mapper.StudentJsonWriter;
+import com.ffreitas.springtestingexample.service.StudentBulkService;
+import com.ffreitas.springtestingexample.service.StudentPurgeService;
 import com.ffreitas.springtestingexample.service.StudentService;
+import com.ffreitas.springtestingexample.service.StudentWriteBehindService;
+import com.ffreitas.springtestingexample.validation.StudentRequestValidator;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.WebDataBinder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Slf4j
+@Profile("!reactive")
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/api/v1/students")
@@ -19,6 +53,21 @@ public class StudentController {
 
     private final StudentService studentService;
 
+    private final StudentBulkService studentBulkService;
+
+    private final ObjectProvider<StudentWriteBehindService> studentWriteBehindService;
+
+    private final StudentPurgeService studentPurgeService;
+
+    private final ObjectMapper objectMapper;
+
+    private final StudentRequestValidator studentRequestValidator;
+
+    @InitBinder("studentRequest")
+    public void initStudentRequestBinder(WebDataBinder binder) {
+        binder.setValidator(studentRequestValidator);
+    }
+
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public void createStudent(@RequestBody @Valid StudentRequest studentRequest) {
@@ -26,16 +75,172 @@ public class StudentController {
         log.info("Student created with ID: {}", response.id());
     }
 
-    @GetMapping("/{student-id}")
+    @PostMapping(headers = "Prefer=respond-async")
+    public ResponseEntity<StudentResponse> enqueueStudent(@RequestBody @Valid StudentRequest studentRequest,
+                                                          @RequestHeader(name = "X-Write-Concern", required = false) String writeConcern) {
+        WriteConcernLevel level = WriteConcernLevel.from(writeConcern);
+        StudentWriteBehindService writeBehindService = studentWriteBehindService.getIfAvailable();
+
+        if (writeBehindService == null) {
+            var response = studentService.createStudent(studentRequest);
+            log.info("Student created with ID: {}", response.id());
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        }
+
+        return writeBehindService
+                .enqueueStudent(studentRequest, level)
+                .map(response -> ResponseEntity
+                        .accepted()
+                        .location(URI.create("/api/v1/students/pending/" + response.id()))
+                        .body(response))
+                .orElseGet(() -> ResponseEntity
+                        .status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, "1")
+                        .build());
+    }
+
+    @GetMapping("/pending/{student-id}")
     @ResponseStatus(HttpStatus.OK)
-    public StudentResponse getStudent(@PathVariable("student-id") String id) {
-        return studentService.getStudent(id);
+    public StudentWriteStatus getWriteStatus(@PathVariable("student-id") String id) {
+        StudentWriteBehindService writeBehindService = studentWriteBehindService.getIfAvailable();
+
+        if (writeBehindService == null)
+            throw new IllegalArgumentException("Queued student with id " + id + " not found");
+
+        return writeBehindService.getWriteStatus(id);
+    }
+
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    public List<StudentBulkResult> createStudents(@RequestBody List<StudentRequest> studentRequests) {
+        return studentBulkService.createStudents(studentRequests.iterator());
+    }
+
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    public List<StudentBulkResult> createStudentsFromNdjson(InputStream body) throws IOException {
+        try (MappingIterator<StudentRequest> studentRequests = objectMapper.readerFor(StudentRequest.class).readValues(body)) {
+            return studentBulkService.createStudents(studentRequests);
+        }
+    }
+
+    @PostMapping("/lookup")
+    @ResponseStatus(HttpStatus.OK)
+    public StudentLookupResponse lookupStudents(@RequestBody @Valid StudentLookupRequest lookupRequest) {
+        return studentService.lookupStudents(lookupRequest);
+    }
+
+    @GetMapping("/{student-id}")
+    public ResponseEntity<StudentResponse> getStudent(@PathVariable("student-id") String id,
+                                                      @RequestParam(name = "fields", required = false) Set<String> fields) {
+        if (fields != null && !fields.isEmpty())
+            return ResponseEntity.ok(studentService.getStudent(id, fields));
+
+        var student = studentService.getStudent(id);
+        var response = ResponseEntity.ok().eTag(eTag(student));
+
+        if (student.lastModified() != null)
+            response.lastModified(student.lastModified());
+
+        return response.body(student);
     }
 
     @GetMapping
+    public ResponseEntity<List<StudentResponse>> getAllStudents(@RequestParam(name = "fields", required = false) Set<String> fields,
+                                                                WebRequest webRequest) {
+        if (fields != null && !fields.isEmpty())
+            return ResponseEntity.ok(studentService.getAllStudents(fields));
+
+        var version = studentService.getStudentsVersion();
+
+        if (version != null && webRequest.checkNotModified(eTag(version), lastModified(version)))
+            return null;
+
+        return ResponseEntity.ok(studentService.getAllStudents());
+    }
+
+    @GetMapping("/search")
+    @ResponseStatus(HttpStatus.OK)
+    public StudentPage searchStudents(@RequestParam(name = "field", defaultValue = "email") String field,
+                                      @RequestParam("prefix") String prefix,
+                                      @RequestParam(name = "limit", defaultValue = "20") int limit,
+                                      @RequestParam(name = "cursor", required = false) String cursor) {
+        return studentService.searchStudents(field, prefix, limit, cursor);
+    }
+
+    @GetMapping("/count")
+    @ResponseStatus(HttpStatus.OK)
+    public StudentCountResponse countStudents(@RequestParam(name = "mode", defaultValue = "exact") String mode,
+                                              @RequestParam(name = "firstName", required = false) String firstName,
+                                              @RequestParam(name = "lastName", required = false) String lastName,
+                                              @RequestParam(name = "email", required = false) String email) {
+        boolean estimated = switch (mode) {
+            case "exact" -> false;
+            case "estimated" -> true;
+            default -> throw new IllegalArgumentException("Count mode " + mode + " is not supported");
+        };
+
+        return studentService.countStudents(estimated, firstName, lastName, email);
+    }
+
+    @GetMapping(value = "/exists", params = "email")
+    @ResponseStatus(HttpStatus.OK)
+    public Map<String, Boolean> existsStudentByEmail(@RequestParam("email") String email) {
+        return Map.of("exists", studentService.existsStudentByEmail(email));
+    }
+
+    @RequestMapping(method = RequestMethod.HEAD)
+    public ResponseEntity<Void> headStudents() {
+        var count = studentService.countStudents(true, null, null, null);
+
+        return ResponseEntity
+                .ok()
+                .header("X-Total-Count", String.valueOf(count.count()))
+                .build();
+    }
+
+    @RequestMapping(method = RequestMethod.HEAD, params = "email")
+    public ResponseEntity<Void> headStudentByEmail(@RequestParam("email") String email) {
+        return studentService.existsStudentByEmail(email)
+                ? ResponseEntity.ok().build()
+                : ResponseEntity.notFound().build();
+    }
+
+    @RequestMapping(value = "/{student-id}", method = RequestMethod.HEAD)
+    public ResponseEntity<Void> headStudent(@PathVariable("student-id") String id) {
+        return studentService.existsStudent(id)
+                ? ResponseEntity.ok().build()
+                : ResponseEntity.notFound().build();
+    }
+
+    @GetMapping(params = "email")
     @ResponseStatus(HttpStatus.OK)
-    public List<StudentResponse> getAllStudents() {
-        return studentService.getAllStudents();
+    public StudentResponse getStudentByEmail(@RequestParam("email") String email,
+                                             @RequestParam(name = "fields", required = false) Set<String> fields) {
+        return studentService.getStudentByEmail(email, fields);
+    }
+
+    @GetMapping(params = "limit")
+    @ResponseStatus(HttpStatus.OK)
+    public StudentPage getStudentsPage(@RequestParam("limit") int limit,
+                                       @RequestParam(name = "cursor", required = false) String cursor,
+                                       @RequestParam(name = "fields", required = false) Set<String> fields) {
+        return studentService.getStudentsPage(limit, cursor, fields);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllStudents(@RequestParam(name = "fields", required = false) Set<String> fields) {
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.setRootValueSeparator(null);
+                studentService.streamStudents(fields, student -> writeLine(generator, student));
+            }
+        };
+
+        return ResponseEntity
+                .ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     @DeleteMapping("/{student-id}")
@@ -43,4 +248,50 @@ public class StudentController {
     public void deleteStudent(@PathVariable("student-id") String id) {
         studentService.deleteStudent(id);
     }
+
+    @PostMapping("/purge")
+    public ResponseEntity<StudentPurgeStatus> purgeStudents(@RequestBody StudentPurgeRequest purgeRequest) {
+        return studentPurgeService
+                .submitPurge(purgeRequest)
+                .map(status -> {
+                    log.info("Student purge job submitted with ID: {}", status.id());
+                    return ResponseEntity.accepted().body(status);
+                })
+                .orElseGet(() -> ResponseEntity
+                        .status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, "60")
+                        .build());
+    }
+
+    @GetMapping("/purge/{job-id}")
+    @ResponseStatus(HttpStatus.OK)
+    public StudentPurgeStatus getPurge(@PathVariable("job-id") String jobId) {
+        return studentPurgeService.getPurge(jobId);
+    }
+
+    /**
+     * Weak, since JSON, CBOR, Smile and their compressed forms of the same student share it; responses carry
+     * {@code Vary: Accept} so caches keep the representations apart.
+     */
+    private static String eTag(StudentResponse student) {
+        long version = student.version() == null ? 0 : student.version();
+        return "W/\"" + student.id() + "-" + version + "\"";
+    }
+
+    private static String eTag(StudentListVersion version) {
+        return "W/\"students-" + version.count() + "-" + lastModified(version) + "\"";
+    }
+
+    private static long lastModified(StudentListVersion version) {
+        return version.lastModified() == null ? -1 : version.lastModified().toEpochMilli();
+    }
+
+    private static void writeLine(JsonGenerator generator, Student student) {
+        try {
+            StudentJsonWriter.write(generator, student);
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
@@ -0,0 +1,26 @@
+package com.ffreitas.springtestingexample.dto;
+
+import lombok.Builder;
+
+import java.io.Serializable;
+
+@Builder
+public record StudentBulkResult(
+
+        long index,
+
+        Status status,
+
+        String id,
+
+        String message
+
+) implements Serializable {
+
+    public enum Status {
+        CREATED,
+        DUPLICATE,
+        INVALID,
+        FAILED
+    }
+}
@@ -0,0 +1,15 @@
+package com.ffreitas.springtestingexample.dto;
+
+import lombok.Builder;
+
+import java.io.Serializable;
+
+@Builder
+public record StudentCountResponse(
+
+        long count,
+
+        boolean estimated
+
+) implements Serializable {
+}
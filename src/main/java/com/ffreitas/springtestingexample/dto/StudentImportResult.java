@@ -0,0 +1,21 @@
+package com.ffreitas.springtestingexample.dto;
+
+import lombok.Builder;
+
+import java.io.Serializable;
+
+@Builder
+public record StudentImportResult(
+
+        long processed,
+
+        long created,
+
+        long duplicates,
+
+        long invalid,
+
+        long failed
+
+) implements Serializable {
+}
@@ -0,0 +1,16 @@
+package com.ffreitas.springtestingexample.dto;
+
+import lombok.Builder;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+@Builder
+public record StudentListVersion(
+
+        long count,
+
+        Instant lastModified
+
+) implements Serializable {
+}
@@ -0,0 +1,21 @@
+package com.ffreitas.springtestingexample.dto;
+
+import jakarta.validation.constraints.Size;
+import lombok.Builder;
+
+import java.io.Serializable;
+import java.util.List;
+
+@Builder
+public record StudentLookupRequest(
+
+        @Size(max = StudentLookupRequest.MAX_SIZE, message = "Student lookup is limited to " + StudentLookupRequest.MAX_SIZE + " ids")
+        List<String> ids,
+
+        @Size(max = StudentLookupRequest.MAX_SIZE, message = "Student lookup is limited to " + StudentLookupRequest.MAX_SIZE + " emails")
+        List<String> emails
+
+) implements Serializable {
+
+    public static final int MAX_SIZE = 500;
+}
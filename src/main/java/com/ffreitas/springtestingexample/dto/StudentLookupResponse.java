@@ -0,0 +1,16 @@
+package com.ffreitas.springtestingexample.dto;
+
+import lombok.Builder;
+
+import java.io.Serializable;
+import java.util.List;
+
+@Builder
+public record StudentLookupResponse(
+
+        List<StudentResponse> students,
+
+        List<String> missing
+
+) implements Serializable {
+}
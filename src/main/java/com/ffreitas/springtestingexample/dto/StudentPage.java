@@ -0,0 +1,16 @@
+package com.ffreitas.springtestingexample.dto;
+
+import lombok.Builder;
+
+import java.io.Serializable;
+import java.util.List;
+
+@Builder
+public record StudentPage(
+
+        List<StudentResponse> content,
+
+        String nextCursor
+
+) implements Serializable {
+}
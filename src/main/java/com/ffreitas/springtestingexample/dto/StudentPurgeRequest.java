@@ -0,0 +1,16 @@
+package com.ffreitas.springtestingexample.dto;
+
+import lombok.Builder;
+
+import java.io.Serializable;
+import java.util.List;
+
+@Builder
+public record StudentPurgeRequest(
+
+        List<String> ids,
+
+        String emailDomain
+
+) implements Serializable {
+}
@@ -0,0 +1,31 @@
+package com.ffreitas.springtestingexample.dto;
+
+import lombok.Builder;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+@Builder
+public record StudentPurgeStatus(
+
+        String id,
+
+        State state,
+
+        long deleted,
+
+        String error,
+
+        Instant submittedAt,
+
+        Instant finishedAt
+
+) implements Serializable {
+
+    public enum State {
+        PENDING,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
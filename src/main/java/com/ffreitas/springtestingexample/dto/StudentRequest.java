@@ -12,17 +12,26 @@ public record StudentRequest(
 
         String id,
 
-        @NotNull(message = "Student first name is required")
-        @NotEmpty(message = "Student first name is required")
+        @NotNull(message = StudentRequest.FIRST_NAME_REQUIRED)
+        @NotEmpty(message = StudentRequest.FIRST_NAME_REQUIRED)
         String firstName,
 
-        @NotNull(message = "Student last name is required")
-        @NotEmpty(message = "Student last name is required")
+        @NotNull(message = StudentRequest.LAST_NAME_REQUIRED)
+        @NotEmpty(message = StudentRequest.LAST_NAME_REQUIRED)
         String lastName,
 
-        @NotNull(message = "Student email is required")
-        @NotEmpty(message = "Student email is required")
-        @Email(message = "Student email is invalid")
+        @NotNull(message = StudentRequest.EMAIL_REQUIRED)
+        @NotEmpty(message = StudentRequest.EMAIL_REQUIRED)
+        @Email(message = StudentRequest.EMAIL_INVALID)
         String email
 
-) implements Serializable { }
+) implements Serializable {
+
+    public static final String FIRST_NAME_REQUIRED = "Student first name is required";
+
+    public static final String LAST_NAME_REQUIRED = "Student last name is required";
+
+    public static final String EMAIL_REQUIRED = "Student email is required";
+
+    public static final String EMAIL_INVALID = "Student email is invalid";
+}
@@ -1,10 +1,17 @@
 package com.ffreitas.springtestingexample.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.ffreitas.springtestingexample.mapper.StudentResponseSerializer;
 import lombok.Builder;
 
 import java.io.Serializable;
+import java.time.Instant;
 
 @Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonSerialize(using = StudentResponseSerializer.class)
 public record StudentResponse(
 
         String id,
@@ -13,7 +20,17 @@ public record StudentResponse(
 
         String lastName,
 
-        String email
+        String email,
+
+        @JsonIgnore
+        Long version,
+
+        @JsonIgnore
+        Instant lastModified
 
 ) implements Serializable {
+
+    public StudentResponse(String id, String firstName, String lastName, String email) {
+        this(id, firstName, lastName, email, null, null);
+    }
 }
@@ -0,0 +1,25 @@
+package com.ffreitas.springtestingexample.dto;
+
+import lombok.Builder;
+
+import java.io.Serializable;
+
+@Builder
+public record StudentWriteStatus(
+
+        String id,
+
+        State state,
+
+        String error
+
+) implements Serializable {
+
+    public enum State {
+        PENDING,
+        WRITTEN,
+        UNACKNOWLEDGED,
+        DUPLICATE,
+        FAILED
+    }
+}
@@ -0,0 +1,43 @@
+package com.ffreitas.springtestingexample.dto;
+
+import com.mongodb.WriteConcern;
+
+import java.util.Locale;
+
+public enum WriteConcernLevel {
+
+    UNACKNOWLEDGED(WriteConcern.UNACKNOWLEDGED),
+    W1(WriteConcern.W1),
+    MAJORITY(WriteConcern.MAJORITY);
+
+    private final WriteConcern writeConcern;
+
+    WriteConcernLevel(WriteConcern writeConcern) {
+        this.writeConcern = writeConcern;
+    }
+
+    public WriteConcern writeConcern() {
+        return writeConcern;
+    }
+
+    /**
+     * Accepts the level names as well as Mongo's own spelling of the {@code w} option, with or without the
+     * {@code w:} prefix: {@code w:0}, {@code w:1} and {@code w:majority}.
+     */
+    public static WriteConcernLevel from(String value) {
+        if (value == null || value.isBlank())
+            return W1;
+
+        String w = value.trim().toLowerCase(Locale.ROOT);
+
+        if (w.startsWith("w:"))
+            w = w.substring(2).trim();
+
+        return switch (w) {
+            case "0", "unacknowledged" -> UNACKNOWLEDGED;
+            case "1", "w1" -> W1;
+            case "majority" -> MAJORITY;
+            default -> throw new IllegalArgumentException("Write concern " + value + " is not supported");
+        };
+    }
+}
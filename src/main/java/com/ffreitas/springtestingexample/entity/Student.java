@@ -1,15 +1,29 @@
 package com.ffreitas.springtestingexample.entity;
 
 import lombok.*;
+import org.springframework.data.annotation.AccessType;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import java.time.Instant;
+import java.util.Locale;
+
 @AllArgsConstructor
 @NoArgsConstructor
 @Getter
 @Setter
 @Builder
 @Document
+@CompoundIndexes({
+        @CompoundIndex(name = "first_name_search", def = "{ 'firstNameLower': 1, '_id': 1 }"),
+        @CompoundIndex(name = "last_name_search", def = "{ 'lastNameLower': 1, '_id': 1 }"),
+        @CompoundIndex(name = "email_search", def = "{ 'emailLower': 1, '_id': 1 }")
+})
 public class Student {
 
     @Id
@@ -19,5 +33,38 @@ public class Student {
 
     private String lastName;
 
+    @Indexed(unique = true)
     private String email;
+
+    @Version
+    private Long version;
+
+    @Indexed
+    @LastModifiedDate
+    private Instant lastModified;
+
+    @AccessType(AccessType.Type.PROPERTY)
+    private String firstNameLower;
+
+    @AccessType(AccessType.Type.PROPERTY)
+    private String lastNameLower;
+
+    @AccessType(AccessType.Type.PROPERTY)
+    private String emailLower;
+
+    public String getFirstNameLower() {
+        return lowerCase(firstName);
+    }
+
+    public String getLastNameLower() {
+        return lowerCase(lastName);
+    }
+
+    public String getEmailLower() {
+        return lowerCase(email);
+    }
+
+    private static String lowerCase(String value) {
+        return value == null ? null : value.toLowerCase(Locale.ROOT);
+    }
 }
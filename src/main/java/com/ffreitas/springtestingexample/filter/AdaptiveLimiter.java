@@ -0,0 +1,75 @@
+package com.ffreitas.springtestingexample.filter;
+
+import com.ffreitas.springtestingexample.config.StudentAdmissionProperties;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Concurrency limit that follows observed latency with additive increase and multiplicative decrease: every
+ * request completing under the target latency grows the limit by {@code 1 / limit}, a slower one shrinks it
+ * by the backoff factor, at most once per target latency window. Requests released without a latency only give
+ * back their slot.
+ */
+final class AdaptiveLimiter {
+
+    private final StudentAdmissionProperties.Adaptive properties;
+
+    private final long targetLatency;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final AtomicLong limit;
+
+    private final AtomicLong lastDecrease;
+
+    AdaptiveLimiter(StudentAdmissionProperties.Adaptive properties) {
+        this.properties = properties;
+        this.targetLatency = properties.targetLatency().toNanos();
+        this.limit = new AtomicLong(Double.doubleToRawLongBits(properties.initialLimit()));
+        this.lastDecrease = new AtomicLong(System.nanoTime() - targetLatency);
+    }
+
+    boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+
+            if (current >= limit())
+                return false;
+
+            if (inFlight.compareAndSet(current, current + 1))
+                return true;
+        }
+    }
+
+    void release(long latency, long now) {
+        inFlight.decrementAndGet();
+
+        if (latency <= targetLatency) {
+            update(value -> Math.min(properties.maxLimit(), value + 1 / value));
+            return;
+        }
+
+        long last = lastDecrease.get();
+
+        if (now - last >= targetLatency && lastDecrease.compareAndSet(last, now))
+            update(value -> Math.max(properties.minLimit(), value * properties.backoff()));
+    }
+
+    void release() {
+        inFlight.decrementAndGet();
+    }
+
+    int limit() {
+        return (int) Double.longBitsToDouble(limit.get());
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    private void update(DoubleUnaryOperator operator) {
+        limit.updateAndGet(bits -> Double.doubleToRawLongBits(operator.applyAsDouble(Double.longBitsToDouble(bits))));
+    }
+}
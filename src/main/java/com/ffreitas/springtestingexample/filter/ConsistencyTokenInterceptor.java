@@ -0,0 +1,78 @@
+package com.ffreitas.springtestingexample.filter;
+
+import com.ffreitas.springtestingexample.repository.ConsistencyContext;
+import com.ffreitas.springtestingexample.repository.ConsistencyToken;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Read-your-writes for the student API.
+ * <p>
+ * A request that sends {@value ConsistencyToken#HEADER} has its reads answered no earlier than the write the
+ * token was issued for; without it reads go to the nearest secondary. Every write made by the request sets the
+ * header on the response, before the body is written.
+ * </p>
+ * <p>
+ * A token that decodes but lies ahead of both the latest cluster time this node has seen and its own clock, by
+ * more than the allowed skew, cannot have been issued by the cluster and is rejected with 400 up front.
+ * </p>
+ */
+public class ConsistencyTokenInterceptor implements AsyncHandlerInterceptor {
+
+    private static final Duration MAX_CLOCK_SKEW = Duration.ofMinutes(1);
+
+    private final Clock clock;
+
+    public ConsistencyTokenInterceptor() {
+        this(Clock.systemUTC());
+    }
+
+    ConsistencyTokenInterceptor(Clock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        String header = request.getHeader(ConsistencyToken.HEADER);
+        ConsistencyToken required = null;
+
+        if (header != null && !header.isBlank()) {
+            try {
+                required = ConsistencyToken.decode(header);
+            } catch (IllegalArgumentException e) {
+                response.sendError(HttpStatus.BAD_REQUEST.value(), e.getMessage());
+                return false;
+            }
+
+            long limit = Math.max(ConsistencyContext.latestClusterTime(), clock.instant().getEpochSecond())
+                    + MAX_CLOCK_SKEW.toSeconds();
+
+            if (required.isAheadOf(limit)) {
+                response.sendError(HttpStatus.BAD_REQUEST.value(), "Consistency token is ahead of the cluster time");
+                return false;
+            }
+        }
+
+        ConsistencyContext.begin(required, token -> {
+            if (!response.isCommitted())
+                response.setHeader(ConsistencyToken.HEADER, token.encode());
+        });
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ConsistencyContext.clear();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        ConsistencyContext.clear();
+    }
+}
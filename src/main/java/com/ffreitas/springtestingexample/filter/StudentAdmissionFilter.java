@@ -0,0 +1,225 @@
+package com.ffreitas.springtestingexample.filter;
+
+import com.ffreitas.springtestingexample.config.StudentAdmissionProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.security.Principal;
+import java.util.Locale;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Admission control in front of the student API.
+ * <p>
+ * A request passes three gates in order: a token bucket per client and endpoint (429), a concurrency limit for
+ * the expensive full-collection endpoints (503) and an adaptive limit on all requests in flight that backs off
+ * when latency exceeds the target (503). Buckets live in a bounded Caffeine cache, which is striped internally
+ * and drops buckets of idle clients.
+ * </p>
+ * <p>
+ * Clients are identified by their authenticated principal, otherwise by remote address. The client header is
+ * only trusted from {@code student.admission.trusted-proxies}, so a caller cannot get a fresh bucket by changing
+ * it. Long-running and async requests still count towards the adaptive limit but do not feed it latency samples.
+ * </p>
+ */
+public class StudentAdmissionFilter extends OncePerRequestFilter {
+
+    private static final String STUDENTS = "/api/v1/students";
+
+    private static final String ADMIN_STUDENTS = "/api/v1/admin/students";
+
+    private final StudentAdmissionProperties properties;
+
+    private final Cache<String, TokenBucket> buckets;
+
+    private final Semaphore expensive;
+
+    private final AdaptiveLimiter limiter;
+
+    private final MeterRegistry registry;
+
+    public StudentAdmissionFilter(StudentAdmissionProperties properties, MeterRegistry registry) {
+        this.properties = properties;
+        this.registry = registry;
+        this.buckets = Caffeine
+                .newBuilder()
+                .expireAfterAccess(properties.idleTimeout())
+                .maximumSize(100_000)
+                .build();
+        this.expensive = new Semaphore(properties.expensiveConcurrency());
+        this.limiter = new AdaptiveLimiter(properties.adaptive());
+
+        Gauge.builder("student.admission.limit", limiter, AdaptiveLimiter::limit)
+                .description("Current adaptive concurrency limit")
+                .register(registry);
+
+        Gauge.builder("student.admission.in-flight", limiter, AdaptiveLimiter::inFlight)
+                .description("Requests currently admitted")
+                .register(registry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.enabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain) throws ServletException, IOException {
+        String endpoint = endpoint(request);
+        long now = System.nanoTime();
+
+        long wait = buckets
+                .get(client(request) + ' ' + endpoint, key -> bucket(endpoint))
+                .tryAcquire(now);
+
+        if (wait > 0) {
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, wait, endpoint, "rate");
+            return;
+        }
+
+        boolean limited = properties.expensiveEndpoints().contains(endpoint);
+
+        if (limited && !expensive.tryAcquire()) {
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, 0, endpoint, "concurrency");
+            return;
+        }
+
+        boolean adaptive = properties.adaptive().enabled();
+
+        if (adaptive && !limiter.tryAcquire()) {
+            if (limited)
+                expensive.release();
+
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, 0, endpoint, "overload");
+            return;
+        }
+
+        boolean sampled = !properties.adaptive().unsampledEndpoints().contains(endpoint);
+
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted())
+                request.getAsyncContext().addListener(new ReleaseListener(release(limited, adaptive, false, now)));
+            else
+                release(limited, adaptive, sampled, now).run();
+        }
+    }
+
+    private Runnable release(boolean limited, boolean adaptive, boolean sampled, long start) {
+        AtomicBoolean released = new AtomicBoolean();
+
+        return () -> {
+            if (!released.compareAndSet(false, true))
+                return;
+
+            if (limited)
+                expensive.release();
+
+            if (adaptive && sampled) {
+                long now = System.nanoTime();
+                limiter.release(now - start, now);
+            } else if (adaptive) {
+                limiter.release();
+            }
+        };
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, long wait, String endpoint, String reason) {
+        long seconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait + TimeUnit.SECONDS.toNanos(1) - 1));
+
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(seconds));
+
+        Counter.builder("student.admission.rejected")
+                .description("Requests rejected by the admission filter")
+                .tag("endpoint", endpoint)
+                .tag("reason", reason)
+                .register(registry)
+                .increment();
+    }
+
+    private TokenBucket bucket(String endpoint) {
+        StudentAdmissionProperties.Rate rate = properties.rate(endpoint);
+        return new TokenBucket(rate.capacity(), rate.perSecond());
+    }
+
+    private String client(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+
+        if (principal != null)
+            return "user:" + principal.getName();
+
+        String address = request.getRemoteAddr();
+
+        if (!properties.trustedProxies().contains(address))
+            return address;
+
+        String client = request.getHeader(properties.clientHeader());
+        return client == null || client.isBlank() ? address : "client:" + client;
+    }
+
+    static String endpoint(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String method = request.getMethod();
+
+        if (path.startsWith(ADMIN_STUDENTS))
+            return path.endsWith("/export") ? "export" : path.endsWith("/import") ? "import" : "admin";
+
+        if (path.equals(STUDENTS) || path.equals(STUDENTS + "/")) {
+            if (!"GET".equals(method))
+                return method.toLowerCase(Locale.ROOT);
+
+            if (request.getParameter("limit") != null)
+                return "page";
+
+            return request.getParameter("email") != null ? "get" : "list";
+        }
+
+        if (path.equals(STUDENTS + "/stream"))
+            return "stream";
+
+        if (path.equals(STUDENTS + "/bulk"))
+            return "bulk";
+
+        return "default";
+    }
+
+    private record ReleaseListener(Runnable release) implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.ffreitas.springtestingexample.filter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket kept as a single theoretical arrival time (the GCRA form of a token bucket), so
+ * admitting a request is one compare-and-set and no refill timer is needed.
+ */
+final class TokenBucket {
+
+    private final long interval;
+
+    private final long tolerance;
+
+    private final AtomicLong arrival;
+
+    TokenBucket(int capacity, double perSecond) {
+        if (capacity < 1 || perSecond <= 0)
+            throw new IllegalArgumentException("Token bucket requires a positive capacity and rate");
+
+        this.interval = (long) (TimeUnit.SECONDS.toNanos(1) / perSecond);
+        this.tolerance = interval * (capacity - 1);
+        this.arrival = new AtomicLong(Long.MIN_VALUE);
+    }
+
+    /**
+     * Takes one token.
+     *
+     * @return {@code 0} when admitted, otherwise the nanoseconds until a token is available
+     */
+    long tryAcquire(long now) {
+        while (true) {
+            long current = arrival.get();
+            long next = Math.max(current, now) + interval;
+            long wait = next - now - interval - tolerance;
+
+            if (wait > 0)
+                return wait;
+
+            if (arrival.compareAndSet(current, next))
+                return 0;
+        }
+    }
+}
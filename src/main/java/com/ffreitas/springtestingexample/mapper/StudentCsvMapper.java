@@ -0,0 +1,58 @@
+package com.ffreitas.springtestingexample.mapper;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.ffreitas.springtestingexample.dto.StudentRequest;
+import com.ffreitas.springtestingexample.entity.Student;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * CSV rows for the student export and import, with the same columns as the JSON representation.
+ */
+public final class StudentCsvMapper {
+
+    public static final String TEXT_CSV_VALUE = "text/csv";
+
+    private static final CsvSchema EXPORT_SCHEMA = CsvSchema
+            .builder()
+            .addColumn("id")
+            .addColumn("firstName")
+            .addColumn("lastName")
+            .addColumn("email")
+            .setUseHeader(true)
+            .build();
+
+    private static final CsvMapper MAPPER = new CsvMapper();
+
+    private static final ObjectWriter WRITER = MAPPER.writer(EXPORT_SCHEMA);
+
+    private static final ObjectReader READER = MAPPER
+            .readerFor(StudentRequest.class)
+            .with(CsvSchema.emptySchema().withHeader())
+            .with(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+            .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    private StudentCsvMapper() {
+    }
+
+    public static SequenceWriter writer(OutputStream outputStream) throws IOException {
+        return WRITER.writeValues(outputStream);
+    }
+
+    public static void write(SequenceWriter writer, Student student) throws IOException {
+        writer.write(new String[]{student.getId(), student.getFirstName(), student.getLastName(), student.getEmail()});
+    }
+
+    public static MappingIterator<StudentRequest> reader(InputStream inputStream) throws IOException {
+        return READER.readValues(inputStream);
+    }
+}
@@ -0,0 +1,48 @@
+package com.ffreitas.springtestingexample.mapper;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.ffreitas.springtestingexample.dto.StudentResponse;
+import com.ffreitas.springtestingexample.entity.Student;
+
+import java.io.IOException;
+
+public final class StudentJsonWriter {
+
+    private static final SerializableString ID = new SerializedString("id");
+
+    private static final SerializableString FIRST_NAME = new SerializedString("firstName");
+
+    private static final SerializableString LAST_NAME = new SerializedString("lastName");
+
+    private static final SerializableString EMAIL = new SerializedString("email");
+
+    private StudentJsonWriter() {
+    }
+
+    public static void write(JsonGenerator generator, Student student) throws IOException {
+        write(generator, student.getId(), student.getFirstName(), student.getLastName(), student.getEmail());
+    }
+
+    public static void write(JsonGenerator generator, StudentResponse response) throws IOException {
+        write(generator, response.id(), response.firstName(), response.lastName(), response.email());
+    }
+
+    private static void write(JsonGenerator generator, String id, String firstName, String lastName, String email) throws IOException {
+        generator.writeStartObject();
+        writeField(generator, ID, id);
+        writeField(generator, FIRST_NAME, firstName);
+        writeField(generator, LAST_NAME, lastName);
+        writeField(generator, EMAIL, email);
+        generator.writeEndObject();
+    }
+
+    private static void writeField(JsonGenerator generator, SerializableString name, String value) throws IOException {
+        if (value == null)
+            return;
+
+        generator.writeFieldName(name);
+        generator.writeString(value);
+    }
+}
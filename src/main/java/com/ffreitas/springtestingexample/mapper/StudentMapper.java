@@ -0,0 +1,32 @@
+package com.ffreitas.springtestingexample.mapper;
+
+import com.ffreitas.springtestingexample.dto.StudentRequest;
+import com.ffreitas.springtestingexample.dto.StudentResponse;
+import com.ffreitas.springtestingexample.entity.Student;
+
+public final class StudentMapper {
+
+    private StudentMapper() {
+    }
+
+    public static Student toEntity(StudentRequest request) {
+        return Student
+                .builder()
+                .id(null)
+                .firstName(request.firstName())
+                .lastName(request.lastName())
+                .email(request.email())
+                .build();
+    }
+
+    public static StudentResponse toResponse(Student student) {
+        return new StudentResponse(
+                student.getId(),
+                student.getFirstName(),
+                student.getLastName(),
+                student.getEmail(),
+                student.getVersion(),
+                student.getLastModified()
+        );
+    }
+}
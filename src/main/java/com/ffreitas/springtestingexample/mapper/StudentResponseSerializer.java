@@ -0,0 +1,20 @@
+package com.ffreitas.springtestingexample.mapper;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.ffreitas.springtestingexample.dto.StudentResponse;
+
+import java.io.IOException;
+
+public class StudentResponseSerializer extends StdSerializer<StudentResponse> {
+
+    public StudentResponseSerializer() {
+        super(StudentResponse.class);
+    }
+
+    @Override
+    public void serialize(StudentResponse value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        StudentJsonWriter.write(generator, value);
+    }
+}
@@ -0,0 +1,36 @@
+package com.ffreitas.springtestingexample.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener;
+
+import java.util.concurrent.TimeUnit;
+
+@RequiredArgsConstructor
+public class RepositoryMetricsListener implements RepositoryMethodInvocationListener {
+
+    public static final String METRIC_NAME = "student.repository.invocations";
+
+    private final ObjectProvider<MeterRegistry> registry;
+
+    @Override
+    public void afterInvocation(RepositoryMethodInvocation invocation) {
+        MeterRegistry meterRegistry = registry.getIfAvailable();
+
+        if (meterRegistry == null)
+            return;
+
+        var result = invocation.getResult();
+
+        Timer.builder(METRIC_NAME)
+                .description("Duration of repository method invocations")
+                .tag("repository", invocation.getRepositoryInterface().getSimpleName())
+                .tag("method", invocation.getMethod().getName())
+                .tag("state", result != null ? result.getState().name() : "UNKNOWN")
+                .tag("exception", result != null && result.getError() != null ? result.getError().getClass().getSimpleName() : "none")
+                .register(meterRegistry)
+                .record(invocation.getDuration(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,35 @@
+package com.ffreitas.springtestingexample.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+@Component
+public class StudentMetrics {
+
+    private final MeterRegistry registry;
+
+    private final DistributionSummary listSize;
+
+    public StudentMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.listSize = DistributionSummary
+                .builder("student.list.size")
+                .description("Number of students returned by a full listing")
+                .baseUnit("students")
+                .register(registry);
+    }
+
+    public void recordListSize(int size) {
+        listSize.record(size);
+    }
+
+    public void recordCoalesced(String operation) {
+        Counter.builder("student.requests.coalesced")
+                .description("Reads that joined an identical backend call already in flight")
+                .tag("operation", operation)
+                .register(registry)
+                .increment();
+    }
+}
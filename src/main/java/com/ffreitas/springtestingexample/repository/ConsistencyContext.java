@@ -0,0 +1,75 @@
+package com.ffreitas.springtestingexample.repository;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Consistency state of the request running on the current thread: the token the client sent, if any, and a
+ * callback for the token of every write the request makes.
+ */
+public final class ConsistencyContext {
+
+    private static final ThreadLocal<Context> CONTEXT = new ThreadLocal<>();
+
+    private static final AtomicLong LATEST_CLUSTER_TIME = new AtomicLong();
+
+    private ConsistencyContext() {
+    }
+
+    public static void begin(ConsistencyToken required, Consumer<ConsistencyToken> onWrite) {
+        CONTEXT.set(new Context(required, onWrite));
+    }
+
+    public static void clear() {
+        CONTEXT.remove();
+    }
+
+    public static Optional<ConsistencyToken> required() {
+        Context context = CONTEXT.get();
+        return context == null ? Optional.empty() : Optional.ofNullable(context.required);
+    }
+
+    public static boolean isRequired() {
+        return required().isPresent();
+    }
+
+    /**
+     * Seconds of the latest cluster time this node has seen in any Mongo response, or {@code 0} before the first.
+     */
+    public static long latestClusterTime() {
+        return LATEST_CLUSTER_TIME.get();
+    }
+
+    static void observeClusterTime(long seconds) {
+        LATEST_CLUSTER_TIME.accumulateAndGet(seconds, Math::max);
+    }
+
+    static boolean isActive() {
+        return CONTEXT.get() != null;
+    }
+
+    static void observe(ConsistencyToken token) {
+        Context context = CONTEXT.get();
+
+        if (context == null || !token.isAfter(context.observed))
+            return;
+
+        context.observed = token;
+        context.onWrite.accept(token);
+    }
+
+    private static final class Context {
+
+        private final ConsistencyToken required;
+
+        private final Consumer<ConsistencyToken> onWrite;
+
+        private ConsistencyToken observed;
+
+        private Context(ConsistencyToken required, Consumer<ConsistencyToken> onWrite) {
+            this.required = required;
+            this.onWrite = onWrite;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.ffreitas.springtestingexample.repository;
+
+import com.mongodb.session.ClientSession;
+import org.bson.BsonDocument;
+import org.bson.BsonTimestamp;
+import org.bson.BsonValue;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+/**
+ * Causal consistency token handed to clients after a write: the operation time of the write and the signed
+ * cluster time that came with it. A read that presents it is only answered once the node serving it has
+ * applied everything up to that operation time.
+ */
+public record ConsistencyToken(BsonTimestamp operationTime, BsonDocument clusterTime) {
+
+    public static final String HEADER = "X-Consistency-Token";
+
+    public static ConsistencyToken decode(String token) {
+        try {
+            RawBsonDocument document = new RawBsonDocument(Base64.getUrlDecoder().decode(token));
+            BsonValue clusterTime = document.get("clusterTime");
+
+            if (clusterTime != null) {
+                clusterTime.asDocument().getTimestamp("clusterTime");
+                clusterTime.asDocument().getDocument("signature");
+            }
+
+            return new ConsistencyToken(
+                    document.getTimestamp("operationTime"),
+                    clusterTime == null ? null : clusterTime.asDocument()
+            );
+        } catch (RuntimeException e) {
+            throw new InvalidConsistencyTokenException("Consistency token " + token + " is invalid");
+        }
+    }
+
+    public String encode() {
+        BsonDocument document = new BsonDocument("operationTime", operationTime);
+
+        if (clusterTime != null)
+            document.append("clusterTime", clusterTime);
+
+        ByteBuffer buffer = new RawBsonDocument(document, new BsonDocumentCodec()).getByteBuffer().asNIO();
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    /**
+     * Whether the operation time or the cluster time of the token lies after {@code epochSeconds}. Cluster times
+     * count seconds of the primary's clock, so a token issued by the cluster cannot be far ahead of it.
+     */
+    public boolean isAheadOf(long epochSeconds) {
+        return operationTime.getTime() > epochSeconds
+                || clusterTime != null && clusterTime.getTimestamp("clusterTime").getTime() > epochSeconds;
+    }
+
+    public boolean isAfter(ConsistencyToken other) {
+        return other == null || operationTime.compareTo(other.operationTime) > 0;
+    }
+
+    void advance(ClientSession session) {
+        session.advanceOperationTime(operationTime);
+
+        if (clusterTime != null)
+            session.advanceClusterTime(clusterTime);
+    }
+}
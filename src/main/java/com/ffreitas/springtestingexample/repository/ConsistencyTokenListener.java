@@ -0,0 +1,42 @@
+package com.ffreitas.springtestingexample.repository;
+
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandSucceededEvent;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+
+import java.util.Set;
+
+/**
+ * Captures the operation time of acknowledged writes made by a request, so it can be returned as its
+ * {@link ConsistencyToken}. Standalone servers report no operation time and produce no token.
+ * <p>
+ * The cluster time of every response is also recorded, so incoming tokens can be checked against it.
+ * </p>
+ */
+public class ConsistencyTokenListener implements CommandListener {
+
+    private static final Set<String> WRITE_COMMANDS = Set.of("insert", "update", "delete", "findAndModify");
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        BsonDocument response = event.getResponse();
+        BsonValue clusterTime = response.get("$clusterTime");
+
+        if (clusterTime != null && clusterTime.isDocument() && clusterTime.asDocument().isTimestamp("clusterTime"))
+            ConsistencyContext.observeClusterTime(clusterTime.asDocument().getTimestamp("clusterTime").getTime());
+
+        if (!WRITE_COMMANDS.contains(event.getCommandName()) || !ConsistencyContext.isActive())
+            return;
+
+        BsonValue operationTime = response.get("operationTime");
+
+        if (operationTime == null || !operationTime.isTimestamp())
+            return;
+
+        ConsistencyContext.observe(new ConsistencyToken(
+                operationTime.asTimestamp(),
+                clusterTime != null && clusterTime.isDocument() ? clusterTime.asDocument() : null
+        ));
+    }
+}
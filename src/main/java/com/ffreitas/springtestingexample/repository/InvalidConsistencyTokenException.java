@@ -0,0 +1,20 @@
+package com.ffreitas.springtestingexample.repository;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * A {@link ConsistencyToken} that cannot be decoded, or that decodes but was never issued by the cluster. It is the
+ * client's token at fault, so it is answered with 400 rather than surfacing as a server error.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidConsistencyTokenException extends IllegalArgumentException {
+
+    public InvalidConsistencyTokenException(String message) {
+        super(message);
+    }
+
+    public InvalidConsistencyTokenException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,14 @@
+package com.ffreitas.springtestingexample.repository;
+
+import com.ffreitas.springtestingexample.entity.Student;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ReactiveStudentRepository extends ReactiveMongoRepository<Student, String> {
+    Mono<Boolean> existsByEmail(@NonNull String email);
+
+    Mono<Student> findByEmail(@NonNull String email);
+}
@@ -2,14 +2,22 @@ package com.ffreitas.springtestingexample.repository;
 
 import com.ffreitas.springtestingexample.entity.Student;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface StudentRepository extends MongoRepository<Student, String> {
+public interface StudentRepository extends MongoRepository<Student, String>, StudentRepositoryCustom {
     boolean existsByEmail(@NonNull String email);
 
     Optional<Student> findByEmail(@NonNull String email);
+
+    @Query(value = "{ 'email': { $in: ?0 } }", fields = "{ 'email': 1 }")
+    List<Student> findByEmailIn(@NonNull Collection<String> emails);
+
+    List<Student> findAllByEmailIn(@NonNull Collection<String> emails);
 }
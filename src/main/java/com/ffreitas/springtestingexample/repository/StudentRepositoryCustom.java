@@ -0,0 +1,36 @@
+package com.ffreitas.springtestingexample.repository;
+
+import com.ffreitas.springtestingexample.entity.Student;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+public interface StudentRepositoryCustom {
+
+    Optional<Student> findById(String id);
+
+    List<Student> findAll();
+
+    Optional<Student> findProjectedById(String id, Set<String> fields);
+
+    Optional<Student> findProjectedByEmail(String email, Set<String> fields);
+
+    List<Student> findAllProjected(Set<String> fields);
+
+    List<Student> findPage(String afterId, int limit, Set<String> fields);
+
+    Stream<Student> streamAll(Set<String> fields);
+
+    Stream<Student> streamAll(Set<String> fields, int batchSize);
+
+    List<Student> searchByPrefix(String field, String prefix, String afterValue, String afterId, int limit);
+
+    long countMatching(String firstName, String lastName, String email);
+
+    long estimatedCount();
+
+    Optional<Instant> findLastModified();
+}
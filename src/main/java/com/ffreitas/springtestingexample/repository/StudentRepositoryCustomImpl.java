@@ -0,0 +1,259 @@
+package com.ffreitas.springtestingexample.repository;
+
+import com.ffreitas.springtestingexample.config.StudentMongoProperties;
+import com.ffreitas.springtestingexample.entity.Student;
+import com.mongodb.ClientSessionOptions;
+import com.mongodb.MongoServerException;
+import com.mongodb.ReadConcern;
+import com.mongodb.ReadPreference;
+import com.mongodb.client.ClientSession;
+import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+@RequiredArgsConstructor
+public class StudentRepositoryCustomImpl implements StudentRepositoryCustom {
+
+    public static final Set<String> FIELDS = Set.of("id", "firstName", "lastName", "email");
+
+    public static final Map<String, String> SEARCH_FIELDS = Map.of(
+            "firstName", "firstNameLower",
+            "lastName", "lastNameLower",
+            "email", "emailLower"
+    );
+
+    private static final int CURSOR_BATCH_SIZE = 500;
+
+    /**
+     * BadValue, FailedToParse, TypeMismatch, InvalidOptions (afterClusterTime ahead of the cluster), KeyNotFound
+     * and TimeProofMismatch (signature that does not match the cluster time).
+     */
+    private static final Set<Integer> CLUSTER_TIME_ERRORS = Set.of(2, 9, 14, 72, 211, 293);
+
+    private static final ClientSessionOptions CAUSAL_SESSION = ClientSessionOptions
+            .builder()
+            .causallyConsistent(true)
+            .build();
+
+    private final MongoTemplate mongoTemplate;
+
+    private final StudentMongoProperties properties;
+
+    /**
+     * Fills the {@code students} cache, so it always reads the primary: a lagging secondary could put a stale or
+     * already deleted student back in the cache after an eviction.
+     */
+    @Override
+    public Optional<Student> findById(String id) {
+        Query query = bounded(query(where("id").is(id)))
+                .withReadPreference(ReadPreference.primary());
+
+        return Optional.ofNullable(mongoTemplate.findOne(query, Student.class));
+    }
+
+    @Override
+    public List<Student> findAll() {
+        Query query = new Query();
+        return read(query, operations -> operations.find(query, Student.class));
+    }
+
+    @Override
+    public Optional<Student> findProjectedById(String id, Set<String> fields) {
+        Query query = bounded(project(query(where("id").is(id)), fields));
+        return Optional.ofNullable(read(query, operations -> operations.findOne(query, Student.class)));
+    }
+
+    @Override
+    public Optional<Student> findProjectedByEmail(String email, Set<String> fields) {
+        Query query = project(query(where("email").is(email)), fields);
+        return Optional.ofNullable(mongoTemplate.findOne(query, Student.class));
+    }
+
+    @Override
+    public List<Student> findAllProjected(Set<String> fields) {
+        Query query = project(new Query(), fields);
+        return read(query, operations -> operations.find(query, Student.class));
+    }
+
+    @Override
+    public List<Student> findPage(String afterId, int limit, Set<String> fields) {
+        Query query = afterId == null ? new Query() : query(where("id").gt(afterId));
+        query.with(Sort.by(Sort.Direction.ASC, "id")).limit(limit);
+
+        bounded(project(query, withId(fields)));
+
+        return read(query, operations -> operations.find(query, Student.class));
+    }
+
+    @Override
+    public Stream<Student> streamAll(Set<String> fields) {
+        return streamAll(fields, CURSOR_BATCH_SIZE);
+    }
+
+    @Override
+    public Stream<Student> streamAll(Set<String> fields, int batchSize) {
+        Query query = new Query().cursorBatchSize(batchSize);
+        return mongoTemplate.stream(project(query, fields), Student.class);
+    }
+
+    @Override
+    public List<Student> searchByPrefix(String field, String prefix, String afterValue, String afterId, int limit) {
+        Query query = bounded(searchQuery(field, prefix, afterValue, afterId, limit));
+        return read(query, operations -> operations.find(query, Student.class));
+    }
+
+    static Query searchQuery(String field, String prefix, String afterValue, String afterId, int limit) {
+        String searchField = SEARCH_FIELDS.get(field);
+
+        if (searchField == null)
+            throw new IllegalArgumentException("Search field " + field + " is not supported");
+
+        if (prefix == null || prefix.isBlank())
+            throw new IllegalArgumentException("Search prefix is required");
+
+        String lowerPrefix = prefix.toLowerCase(Locale.ROOT);
+        Criteria range = where(searchField).gte(lowerPrefix);
+        String upperBound = upperBound(lowerPrefix);
+
+        if (upperBound != null)
+            range.lt(upperBound);
+
+        Query query = new Query(range);
+
+        if (afterValue != null && afterId != null) {
+            Object id = ObjectId.isValid(afterId) ? new ObjectId(afterId) : afterId;
+            query.addCriteria(new Criteria().orOperator(
+                    where(searchField).gt(afterValue),
+                    new Criteria().andOperator(where(searchField).is(afterValue), where("_id").gt(id))
+            ));
+        }
+
+        return query
+                .with(Sort.by(Sort.Order.asc(searchField), Sort.Order.asc("_id")))
+                .limit(limit);
+    }
+
+    private static String upperBound(String prefix) {
+        int last = prefix.codePointBefore(prefix.length());
+
+        if (last == Character.MAX_CODE_POINT)
+            return null;
+
+        return prefix.substring(0, prefix.length() - Character.charCount(last)) + Character.toString(last + 1);
+    }
+
+    @Override
+    public long countMatching(String firstName, String lastName, String email) {
+        Query query = new Query();
+
+        if (firstName != null)
+            query.addCriteria(where("firstName").is(firstName));
+
+        if (lastName != null)
+            query.addCriteria(where("lastName").is(lastName));
+
+        if (email != null)
+            query.addCriteria(where("email").is(email));
+
+        return read(query, operations -> operations.count(query, Student.class));
+    }
+
+    @Override
+    public long estimatedCount() {
+        return mongoTemplate.estimatedCount(Student.class);
+    }
+
+    @Override
+    public Optional<Instant> findLastModified() {
+        Query query = new Query()
+                .with(Sort.by(Sort.Direction.DESC, "lastModified"))
+                .limit(1);
+        query.fields().include("lastModified");
+
+        return Optional
+                .ofNullable(mongoTemplate.findOne(query, Student.class))
+                .map(Student::getLastModified);
+    }
+
+    /**
+     * Routes a read to the configured read preference, secondaries by default. When the request carries a
+     * {@link ConsistencyToken} the read runs in a causally consistent session with majority read concern, so the
+     * chosen member waits until it has applied the write behind the token before answering. A token the server
+     * rejects is reported as an {@link InvalidConsistencyTokenException}.
+     */
+    private <T> T read(Query query, Function<MongoOperations, T> operation) {
+        query.withReadPreference(properties.readPreference());
+
+        Optional<ConsistencyToken> token = ConsistencyContext.required();
+
+        if (token.isEmpty())
+            return operation.apply(mongoTemplate);
+
+        query.withReadConcern(ReadConcern.MAJORITY);
+
+        try (ClientSession session = mongoTemplate.getMongoDatabaseFactory().getSession(CAUSAL_SESSION)) {
+            token.get().advance(session);
+            return operation.apply(mongoTemplate.withSession(session));
+        } catch (RuntimeException e) {
+            if (isClusterTimeRejection(e))
+                throw new InvalidConsistencyTokenException("Consistency token was rejected by the cluster", e);
+
+            throw e;
+        }
+    }
+
+    private static boolean isClusterTimeRejection(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof MongoServerException server)
+                return CLUSTER_TIME_ERRORS.contains(server.getCode());
+        }
+
+        return false;
+    }
+
+    /**
+     * Limits point and page reads to {@code student.mongo.timeouts.read}. maxTimeMS covers the whole cursor, so
+     * unpaged reads and exact counts over the full collection are left without it.
+     */
+    private Query bounded(Query query) {
+        return query.maxTime(properties.timeouts().read());
+    }
+
+    private static Query project(Query query, Set<String> fields) {
+        if (fields == null || fields.isEmpty())
+            return query;
+
+        for (String field : fields) {
+            if (!FIELDS.contains(field))
+                throw new IllegalArgumentException("Field " + field + " is not supported");
+
+            query.fields().include(field);
+        }
+
+        if (!fields.contains("id"))
+            query.fields().exclude("id");
+
+        return query;
+    }
+
+    private static Set<String> withId(Set<String> fields) {
+        if (fields == null || fields.isEmpty() || fields.contains("id"))
+            return fields;
+
+        Set<String> projection = new HashSet<>(fields);
+        projection.add("id");
+        return projection;
+    }
+}
@@ -0,0 +1,54 @@
+package com.ffreitas.springtestingexample.service;
+
+import com.ffreitas.springtestingexample.dto.StudentRequest;
+import com.ffreitas.springtestingexample.dto.StudentResponse;
+import com.ffreitas.springtestingexample.entity.Student;
+import com.ffreitas.springtestingexample.mapper.StudentMapper;
+import com.ffreitas.springtestingexample.repository.ReactiveStudentRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveStudentService {
+
+    public static final int CURSOR_PREFETCH = 256;
+
+    private final ReactiveStudentRepository repository;
+
+    public Mono<StudentResponse> createStudent(StudentRequest request) {
+        if (request == null)
+            return Mono.error(new IllegalArgumentException("Student cannot be null"));
+
+        Student entity = StudentMapper.toEntity(request);
+
+        return repository
+                .insert(entity)
+                .onErrorMap(DuplicateKeyException.class,
+                        e -> new IllegalArgumentException("Student with email " + request.email() + " already exists"))
+                .map(StudentMapper::toResponse);
+    }
+
+    public Mono<StudentResponse> getStudent(String id) {
+        return repository
+                .findById(id)
+                .map(StudentMapper::toResponse)
+                .switchIfEmpty(Mono.error(() -> new IllegalArgumentException("Student with id " + id + " not found")));
+    }
+
+    public Flux<StudentResponse> getAllStudents() {
+        return repository
+                .findAll()
+                .limitRate(CURSOR_PREFETCH)
+                .map(StudentMapper::toResponse);
+    }
+
+    public Mono<Void> deleteStudent(String id) {
+        return repository.deleteById(id);
+    }
+}
@@ -0,0 +1,61 @@
+package com.ffreitas.springtestingexample.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Merges concurrent calls for the same key into one: the first caller runs the backend call and every caller
+ * arriving while it is in flight waits for and shares its result, or its exception. Nothing is kept once the
+ * call completes, so this never serves stale data the way a cache can.
+ *
+ * @param <K> key identifying identical calls
+ * @param <V> result shared by the callers, which must not be mutated
+ */
+public final class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> calls = new ConcurrentHashMap<>();
+
+    /**
+     * @param onCoalesced run for every caller that joined a call already in flight
+     */
+    public V execute(K key, Supplier<V> call, Runnable onCoalesced) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> inFlight = calls.putIfAbsent(key, flight);
+
+        if (inFlight != null) {
+            onCoalesced.run();
+            return join(inFlight);
+        }
+
+        try {
+            V value = call.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            calls.remove(key, flight);
+        }
+    }
+
+    int inFlight() {
+        return calls.size();
+    }
+
+    private static <V> V join(CompletableFuture<V> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause)
+                throw cause;
+
+            if (e.getCause() instanceof Error cause)
+                throw cause;
+
+            throw e;
+        }
+    }
+}
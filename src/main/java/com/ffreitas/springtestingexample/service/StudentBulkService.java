@@ -0,0 +1,177 @@
+package com.ffreitas.springtestingexample.service;
+
+import com.ffreitas.springtestingexample.dto.StudentBulkResult;
+import com.ffreitas.springtestingexample.dto.StudentImportResult;
+import com.ffreitas.springtestingexample.dto.StudentRequest;
+import com.ffreitas.springtestingexample.entity.Student;
+import com.ffreitas.springtestingexample.mapper.StudentMapper;
+import com.ffreitas.springtestingexample.repository.StudentRepository;
+import com.ffreitas.springtestingexample.validation.StudentRequestValidator;
+import com.mongodb.bulk.BulkWriteError;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StudentBulkService {
+
+    public static final int CHUNK_SIZE = 1000;
+
+    private static final int DUPLICATE_KEY_ERROR = 11000;
+
+    private final StudentRepository repository;
+
+    private final MongoTemplate mongoTemplate;
+
+    private final StudentRequestValidator validator;
+
+    public List<StudentBulkResult> createStudents(Iterator<StudentRequest> requests) {
+        List<StudentBulkResult> results = new ArrayList<>();
+        createStudents(requests, false, results::add);
+        return results;
+    }
+
+    public StudentImportResult importStudents(Iterator<StudentRequest> requests) {
+        Map<StudentBulkResult.Status, Long> counts = new EnumMap<>(StudentBulkResult.Status.class);
+        long processed = createStudents(requests, true, result -> counts.merge(result.status(), 1L, Long::sum));
+
+        return StudentImportResult
+                .builder()
+                .processed(processed)
+                .created(counts.getOrDefault(StudentBulkResult.Status.CREATED, 0L))
+                .duplicates(counts.getOrDefault(StudentBulkResult.Status.DUPLICATE, 0L))
+                .invalid(counts.getOrDefault(StudentBulkResult.Status.INVALID, 0L))
+                .failed(counts.getOrDefault(StudentBulkResult.Status.FAILED, 0L))
+                .build();
+    }
+
+    private long createStudents(Iterator<StudentRequest> requests, boolean keepIds, Consumer<StudentBulkResult> consumer) {
+        List<StudentRequest> chunk = new ArrayList<>(CHUNK_SIZE);
+        long processed = 0;
+
+        while (requests.hasNext()) {
+            chunk.add(requests.next());
+
+            if (chunk.size() == CHUNK_SIZE) {
+                createChunk(chunk, processed, keepIds).forEach(consumer);
+                processed += chunk.size();
+                chunk.clear();
+            }
+        }
+
+        if (!chunk.isEmpty()) {
+            createChunk(chunk, processed, keepIds).forEach(consumer);
+            processed += chunk.size();
+        }
+
+        log.info("Bulk ingestion processed {} students", processed);
+        return processed;
+    }
+
+    private List<StudentBulkResult> createChunk(List<StudentRequest> chunk, long offset, boolean keepIds) {
+        StudentBulkResult[] results = new StudentBulkResult[chunk.size()];
+        Map<String, Integer> candidates = new LinkedHashMap<>();
+
+        for (int i = 0; i < chunk.size(); i++) {
+            StudentRequest request = chunk.get(i);
+            String error = validate(request);
+
+            if (error != null)
+                results[i] = result(offset + i, StudentBulkResult.Status.INVALID, null, error);
+            else if (candidates.putIfAbsent(request.email(), i) != null)
+                results[i] = duplicate(offset + i, request.email());
+        }
+
+        if (!candidates.isEmpty()) {
+            repository
+                    .findByEmailIn(candidates.keySet())
+                    .forEach(existing -> {
+                        Integer i = candidates.remove(existing.getEmail());
+                        if (i != null)
+                            results[i] = duplicate(offset + i, existing.getEmail());
+                    });
+        }
+
+        if (!candidates.isEmpty())
+            insert(chunk, candidates, results, offset, keepIds);
+
+        return Arrays.asList(results);
+    }
+
+    private void insert(List<StudentRequest> chunk, Map<String, Integer> candidates, StudentBulkResult[] results, long offset, boolean keepIds) {
+        List<Integer> positions = new ArrayList<>(candidates.values());
+        List<Student> entities = new ArrayList<>(positions.size());
+
+        for (int i : positions) {
+            StudentRequest request = chunk.get(i);
+            Student entity = StudentMapper.toEntity(request);
+            entity.setId(keepIds && request.id() != null && !request.id().isBlank() ? request.id() : new ObjectId().toHexString());
+            entities.add(entity);
+        }
+
+        BulkOperations operations = mongoTemplate
+                .bulkOps(BulkOperations.BulkMode.UNORDERED, Student.class)
+                .insert(entities);
+
+        Map<Integer, BulkWriteError> errors = new HashMap<>();
+
+        try {
+            operations.execute();
+        } catch (BulkOperationException e) {
+            e.getErrors().forEach(error -> errors.put(error.getIndex(), error));
+        }
+
+        for (int j = 0; j < positions.size(); j++) {
+            int i = positions.get(j);
+            Student entity = entities.get(j);
+            BulkWriteError error = errors.get(j);
+
+            if (error == null)
+                results[i] = result(offset + i, StudentBulkResult.Status.CREATED, entity.getId(), null);
+            else if (error.getCode() == DUPLICATE_KEY_ERROR)
+                results[i] = duplicate(offset + i, entity.getEmail());
+            else
+                results[i] = result(offset + i, StudentBulkResult.Status.FAILED, null, error.getMessage());
+        }
+    }
+
+    private String validate(StudentRequest request) {
+        if (request == null)
+            return "Student cannot be null";
+
+        List<String> violations = validator.validate(request);
+
+        if (violations.isEmpty())
+            return null;
+
+        return violations
+                .stream()
+                .distinct()
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private static StudentBulkResult duplicate(long index, String email) {
+        return result(index, StudentBulkResult.Status.DUPLICATE, null, "Student with email " + email + " already exists");
+    }
+
+    private static StudentBulkResult result(long index, StudentBulkResult.Status status, String id, String message) {
+        return StudentBulkResult
+                .builder()
+                .index(index)
+                .status(status)
+                .id(id)
+                .message(message)
+                .build();
+    }
+}
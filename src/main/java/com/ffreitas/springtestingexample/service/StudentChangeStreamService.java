@@ -0,0 +1,286 @@
+package com.ffreitas.springtestingexample.service;
+
+import com.ffreitas.springtestingexample.config.StudentChangeStreamProperties;
+import com.ffreitas.springtestingexample.entity.Student;
+import com.ffreitas.springtestingexample.mapper.StudentMapper;
+import com.mongodb.MongoServerException;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDateTime;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import static com.mongodb.client.model.Filters.eq;
+
+/**
+ * Keeps the local {@code students} cache of every node in line with writes made by any node.
+ * <p>
+ * Inserts, updates and replacements refresh students this node already caches, so bulk writes and imports do
+ * not push out its hot set; deletes are evicted and collection level events clear it. The resume token is stored
+ * per node so a restart continues where it stopped; when the oplog no longer holds that position the cache is
+ * cleared and the stream starts from the current time.
+ * </p>
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "student.change-stream", name = "enabled", havingValue = "true")
+public class StudentChangeStreamService implements SmartLifecycle {
+
+    static final String TOKEN_COLLECTION = "student_change_stream_tokens";
+
+    private static final Set<Integer> HISTORY_LOST_ERRORS = Set.of(280, 286);
+
+    private final MongoTemplate mongoTemplate;
+
+    private final Cache cache;
+
+    private final StudentChangeStreamProperties properties;
+
+    private final MeterRegistry registry;
+
+    private final String nodeId;
+
+    private final Timer lag;
+
+    private final Map<OperationType, Counter> events = new EnumMap<>(OperationType.class);
+
+    private volatile boolean running;
+
+    private Thread listener;
+
+    private BsonDocument resumeToken;
+
+    private long tokenSavedAt;
+
+    public StudentChangeStreamService(MongoTemplate mongoTemplate,
+                                      CacheManager cacheManager,
+                                      StudentChangeStreamProperties properties,
+                                      MeterRegistry registry) {
+        this.mongoTemplate = mongoTemplate;
+        this.cache = cacheManager.getCache(StudentService.STUDENT_CACHE);
+        this.properties = properties;
+        this.registry = registry;
+        this.nodeId = properties.nodeId() != null ? properties.nodeId() : hostName();
+
+        this.lag = Timer.builder("student.change-stream.lag")
+                .description("Time from the write on the primary until this node applied it")
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        listener = Thread
+                .ofPlatform()
+                .name("student-change-stream")
+                .daemon()
+                .start(this::listen);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+
+        if (listener == null)
+            return;
+
+        try {
+            listener.join(properties.maxAwaitTime().toMillis() + 5000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listen() {
+        boolean tokenLoaded = false;
+
+        while (running) {
+            try {
+                if (!tokenLoaded) {
+                    resumeToken = loadToken();
+                    tokenLoaded = true;
+                }
+
+                try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = watch(resumeToken)) {
+                    while (running) {
+                        ChangeStreamDocument<Document> event = cursor.tryNext();
+
+                        if (event != null)
+                            apply(event);
+
+                        if (cursor.getResumeToken() != null)
+                            resumeToken = cursor.getResumeToken();
+
+                        saveToken(false);
+                    }
+                }
+            } catch (RuntimeException e) {
+                if (e instanceof MongoServerException server && HISTORY_LOST_ERRORS.contains(server.getCode())) {
+                    log.warn("Change stream position for node {} is no longer in the oplog, clearing the student cache", nodeId);
+                    cache.clear();
+                    resumeToken = null;
+                    continue;
+                }
+
+                log.error("Change stream for node {} failed, retrying in {}", nodeId, properties.retryInterval(), e);
+                pause();
+            }
+        }
+
+        saveToken(true);
+    }
+
+    private MongoChangeStreamCursor<ChangeStreamDocument<Document>> watch(BsonDocument token) {
+        var stream = mongoTemplate
+                .getCollection(mongoTemplate.getCollectionName(Student.class))
+                .watch()
+                .fullDocument(FullDocument.UPDATE_LOOKUP)
+                .batchSize(properties.batchSize())
+                .maxAwaitTime(properties.maxAwaitTime().toMillis(), TimeUnit.MILLISECONDS);
+
+        return token == null ? stream.cursor() : stream.startAfter(token).cursor();
+    }
+
+    void apply(ChangeStreamDocument<Document> event) {
+        OperationType type = event.getOperationType();
+
+        switch (type) {
+            case INSERT, UPDATE, REPLACE -> {
+                String id = id(event.getDocumentKey());
+                Document document = event.getFullDocument();
+
+                if (document == null)
+                    cache.evict(id);
+                else
+                    refresh(id, document);
+            }
+            case DELETE -> cache.evict(id(event.getDocumentKey()));
+            case DROP, RENAME, DROP_DATABASE, INVALIDATE -> cache.clear();
+            default -> {
+            }
+        }
+
+        events.computeIfAbsent(type, this::eventCounter).increment();
+
+        long writtenAt = writtenAt(event);
+
+        if (writtenAt > 0)
+            lag.record(Math.max(0, System.currentTimeMillis() - writtenAt), TimeUnit.MILLISECONDS);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void refresh(String id, Document document) {
+        Object nativeCache = cache.getNativeCache();
+        ConcurrentMap<Object, Object> entries;
+
+        if (nativeCache instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine)
+            entries = (ConcurrentMap<Object, Object>) caffeine.asMap();
+        else if (nativeCache instanceof ConcurrentMap<?, ?> map)
+            entries = (ConcurrentMap<Object, Object>) map;
+        else {
+            cache.evict(id);
+            return;
+        }
+
+        entries.computeIfPresent(id, (key, cached) ->
+                StudentMapper.toResponse(mongoTemplate.getConverter().read(Student.class, document)));
+    }
+
+    private BsonDocument loadToken() {
+        BsonDocument stored = tokens().find(eq("_id", nodeId)).first();
+        return stored == null ? null : stored.getDocument("token");
+    }
+
+    private void saveToken(boolean force) {
+        long now = System.currentTimeMillis();
+
+        if (resumeToken == null || (!force && now - tokenSavedAt < properties.tokenSaveInterval().toMillis()))
+            return;
+
+        try {
+            BsonDocument stored = new BsonDocument("_id", new BsonString(nodeId))
+                    .append("token", resumeToken)
+                    .append("savedAt", new BsonDateTime(now));
+
+            tokens().replaceOne(eq("_id", nodeId), stored, new ReplaceOptions().upsert(true));
+            tokenSavedAt = now;
+        } catch (RuntimeException e) {
+            log.warn("Resume token for node {} could not be saved", nodeId, e);
+        }
+    }
+
+    private MongoCollection<BsonDocument> tokens() {
+        return mongoTemplate
+                .getCollection(TOKEN_COLLECTION)
+                .withDocumentClass(BsonDocument.class);
+    }
+
+    private Counter eventCounter(OperationType type) {
+        return Counter.builder("student.change-stream.events")
+                .description("Change events applied to the local student cache")
+                .tag("operation", type.getValue())
+                .register(registry);
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(properties.retryInterval());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    private static String id(BsonDocument documentKey) {
+        BsonValue id = documentKey.get("_id");
+        return id.isObjectId() ? id.asObjectId().getValue().toHexString() : id.asString().getValue();
+    }
+
+    private static long writtenAt(ChangeStreamDocument<Document> event) {
+        if (event.getWallTime() != null)
+            return event.getWallTime().getValue();
+
+        if (event.getClusterTime() != null)
+            return TimeUnit.SECONDS.toMillis(event.getClusterTime().getTime());
+
+        return 0;
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            throw new IllegalStateException("Node id could not be resolved, set student.change-stream.node-id", e);
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package com.ffreitas.springtestingexample.service;
+
+import com.ffreitas.springtestingexample.config.StudentPurgeProperties;
+import com.ffreitas.springtestingexample.dto.StudentPurgeRequest;
+import com.ffreitas.springtestingexample.dto.StudentPurgeStatus;
+import com.ffreitas.springtestingexample.entity.Student;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Runs purge jobs one at a time on a thread owned by the service, so purges never compete with each other or with
+ * the shared application executor for Mongo.
+ * <p>
+ * Up to {@code student.purge.max-queued-jobs} jobs wait behind the running one. A purge submitted while a job with
+ * the same criteria is still pending or running returns that job instead of deleting the same students twice.
+ * </p>
+ */
+@Slf4j
+@Service
+public class StudentPurgeService {
+
+    private final MongoTemplate mongoTemplate;
+
+    private final CacheManager cacheManager;
+
+    private final Executor executor;
+
+    private final StudentPurgeProperties properties;
+
+    private final Map<String, PurgeJob> jobs = new ConcurrentHashMap<>();
+
+    private final Map<String, PurgeJob> activeJobs = new HashMap<>();
+
+    @Autowired
+    public StudentPurgeService(MongoTemplate mongoTemplate, CacheManager cacheManager, StudentPurgeProperties properties) {
+        this(mongoTemplate, cacheManager, purgeExecutor(properties.maxQueuedJobs()), properties);
+    }
+
+    StudentPurgeService(MongoTemplate mongoTemplate,
+                        CacheManager cacheManager,
+                        Executor executor,
+                        StudentPurgeProperties properties) {
+        this.mongoTemplate = mongoTemplate;
+        this.cacheManager = cacheManager;
+        this.executor = executor;
+        this.properties = properties;
+    }
+
+    /**
+     * Returns an empty result when {@code student.purge.max-queued-jobs} jobs are already waiting.
+     */
+    public Optional<StudentPurgeStatus> submitPurge(StudentPurgeRequest request) {
+        if (request == null)
+            throw new IllegalArgumentException("Student purge cannot be null");
+
+        boolean byIds = request.ids() != null && !request.ids().isEmpty();
+        boolean byDomain = request.emailDomain() != null && !request.emailDomain().isBlank();
+
+        if (byIds == byDomain)
+            throw new IllegalArgumentException("Student purge requires either ids or an email domain");
+
+        pruneFinishedJobs();
+
+        List<String> ids = byIds ? List.copyOf(new TreeSet<>(request.ids())) : null;
+        String domain = byDomain ? request.emailDomain().trim().toLowerCase(Locale.ROOT) : null;
+        String criteria = byIds ? "ids:" + String.join(",", ids) : "domain:" + domain;
+
+        synchronized (activeJobs) {
+            PurgeJob active = activeJobs.get(criteria);
+
+            if (active != null)
+                return Optional.of(active.status());
+
+            PurgeJob job = new PurgeJob(UUID.randomUUID().toString());
+
+            try {
+                executor.execute(() -> run(job, criteria, ids, domain));
+            } catch (RejectedExecutionException e) {
+                return Optional.empty();
+            }
+
+            jobs.put(job.id, job);
+
+            if (job.finishedAt == null)
+                activeJobs.put(criteria, job);
+
+            return Optional.of(job.status());
+        }
+    }
+
+    public StudentPurgeStatus getPurge(String id) {
+        PurgeJob job = jobs.get(id);
+
+        if (job == null)
+            throw new IllegalArgumentException("Purge job with id " + id + " not found");
+
+        return job.status();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (executor instanceof ExecutorService service)
+            service.shutdownNow();
+    }
+
+    private void run(PurgeJob job, String criteria, List<String> ids, String domain) {
+        job.state = StudentPurgeStatus.State.RUNNING;
+
+        try {
+            if (ids != null)
+                purgeByIds(job, ids);
+            else
+                purgeByDomain(job, domain);
+
+            job.state = StudentPurgeStatus.State.COMPLETED;
+            log.info("Purge job {} deleted {} students", job.id, job.deleted.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.fail("Purge job was interrupted");
+        } catch (RuntimeException e) {
+            log.error("Purge job {} failed", job.id, e);
+            job.fail(e.getMessage());
+        } finally {
+            job.finishedAt = Instant.now();
+
+            synchronized (activeJobs) {
+                activeJobs.remove(criteria, job);
+            }
+        }
+    }
+
+    private void purgeByIds(PurgeJob job, List<String> ids) throws InterruptedException {
+        for (int from = 0; from < ids.size(); from += properties.batchSize()) {
+            List<String> batch = ids.subList(from, Math.min(from + properties.batchSize(), ids.size()));
+            deleteBatch(job, batch);
+        }
+    }
+
+    private void purgeByDomain(PurgeJob job, String domain) throws InterruptedException {
+        Criteria domainCriteria = where("email").regex("@" + Pattern.quote(domain) + "$", "i");
+        String lastId = null;
+
+        while (true) {
+            Query query = lastId == null
+                    ? query(domainCriteria)
+                    : query(new Criteria().andOperator(domainCriteria, where("id").gt(lastId)));
+
+            query.with(Sort.by(Sort.Direction.ASC, "id")).limit(properties.batchSize());
+            query.fields().include("id");
+
+            List<String> batch = mongoTemplate
+                    .find(query, Student.class)
+                    .stream()
+                    .map(Student::getId)
+                    .toList();
+
+            if (batch.isEmpty())
+                return;
+
+            deleteBatch(job, batch);
+            lastId = batch.getLast();
+        }
+    }
+
+    private void deleteBatch(PurgeJob job, List<String> batch) throws InterruptedException {
+        long started = System.nanoTime();
+
+        long deleted = mongoTemplate
+                .remove(query(where("id").in(batch)), Student.class)
+                .getDeletedCount();
+
+        job.deleted.addAndGet(deleted);
+
+        Cache cache = cacheManager.getCache(StudentService.STUDENT_CACHE);
+
+        if (cache != null)
+            batch.forEach(cache::evict);
+
+        long minInterval = TimeUnit.SECONDS.toNanos(1) / Math.max(1, properties.maxBatchesPerSecond());
+        long remaining = minInterval - (System.nanoTime() - started);
+
+        if (remaining > 0)
+            TimeUnit.NANOSECONDS.sleep(remaining);
+    }
+
+    private static ExecutorService purgeExecutor(int maxQueuedJobs) {
+        return new ThreadPoolExecutor(
+                1, 1,
+                0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, maxQueuedJobs)),
+                Thread.ofPlatform().name("student-purge").daemon().factory()
+        );
+    }
+
+    private void pruneFinishedJobs() {
+        Instant threshold = Instant.now().minus(properties.retention());
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(threshold));
+    }
+
+    private static final class PurgeJob {
+
+        private final String id;
+
+        private final Instant submittedAt = Instant.now();
+
+        private final AtomicLong deleted = new AtomicLong();
+
+        private volatile StudentPurgeStatus.State state = StudentPurgeStatus.State.PENDING;
+
+        private volatile String error;
+
+        private volatile Instant finishedAt;
+
+        private PurgeJob(String id) {
+            this.id = id;
+        }
+
+        private void fail(String message) {
+            error = message;
+            state = StudentPurgeStatus.State.FAILED;
+        }
+
+        private StudentPurgeStatus status() {
+            return StudentPurgeStatus
+                    .builder()
+                    .id(id)
+                    .state(state)
+                    .deleted(deleted.get())
+                    .error(error)
+                    .submittedAt(submittedAt)
+                    .finishedAt(finishedAt)
+                    .build();
+        }
+    }
+}
@@ -1,76 +1,325 @@
 package com.ffreitas.springtestingexample.service;
 
+import com.ffreitas.springtestingexample.dto.StudentCountResponse;
+import com.ffreitas.springtestingexample.dto.StudentListVersion;
+import com.ffreitas.springtestingexample.dto.StudentLookupRequest;
+import com.ffreitas.springtestingexample.dto.StudentLookupResponse;
+import com.ffreitas.springtestingexample.dto.StudentPage;
 import com.ffreitas.springtestingexample.dto.StudentRequest;
 import com.ffreitas.springtestingexample.dto.StudentResponse;
 import com.ffreitas.springtestingexample.entity.Student;
+import com.ffreitas.springtestingexample.mapper.StudentMapper;
+import com.ffreitas.springtestingexample.metrics.StudentMetrics;
+import com.ffreitas.springtestingexample.repository.ConsistencyContext;
 import com.ffreitas.springtestingexample.repository.StudentRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class StudentService {
 
+    public static final String STUDENT_CACHE = "students";
+
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    public static final int MAX_EXPORT_BATCH_SIZE = 10000;
+
+    private static final String SEARCH_CURSOR_SEPARATOR = "\u0000";
+
     private final StudentRepository repository;
 
+    private final StudentMetrics metrics;
+
+    private final SingleFlight<String, StudentResponse> studentsById = new SingleFlight<>();
+
+    private final SingleFlight<Set<String>, List<StudentResponse>> studentLists = new SingleFlight<>();
+
+    private final SingleFlight<PageQuery, StudentPage> studentPages = new SingleFlight<>();
+
+    private final SingleFlight<SearchQuery, StudentPage> studentSearches = new SingleFlight<>();
+
+    private final SingleFlight<String, Boolean> emailExists = new SingleFlight<>();
+
+    @CachePut(cacheNames = STUDENT_CACHE, key = "#result.id")
     public StudentResponse createStudent(StudentRequest request) {
         if (request == null)
             throw new IllegalArgumentException("Student cannot be null");
 
-        boolean hasStudentByEmail = repository.existsByEmail(request.email());
+        Student entity = StudentMapper.toEntity(request);
+
+        Student savedStudent;
 
-        if (hasStudentByEmail)
+        try {
+            savedStudent = repository.insert(entity);
+        } catch (DuplicateKeyException e) {
             throw new IllegalArgumentException("Student with email " + request.email() + " already exists");
+        }
 
-        Student entity = Student
-                .builder()
-                .id(null)
-                .firstName(request.firstName())
-                .lastName(request.lastName())
-                .email(request.email())
-                .build();
+        return StudentMapper.toResponse(savedStudent);
+    }
+
+    /**
+     * Reads that carry a consistency token skip the cache, which may still hold the student as it was before the
+     * write the token refers to.
+     */
+    @Cacheable(cacheNames = STUDENT_CACHE, key = "#id",
+            condition = "!T(com.ffreitas.springtestingexample.repository.ConsistencyContext).isRequired()")
+    public StudentResponse getStudent(String id) {
+        return coalesce(studentsById, id,
+                () -> repository
+                        .findById(id)
+                        .map(StudentMapper::toResponse)
+                        .orElseThrow(() -> new IllegalArgumentException("Student with id " + id + " not found")),
+                "getStudent");
+    }
 
-        Student savedStudent = repository.save(entity);
+    public List<StudentResponse> getAllStudents() {
+        List<StudentResponse> students = coalesce(studentLists, Set.of(),
+                () -> repository
+                        .findAll()
+                        .stream()
+                        .map(StudentMapper::toResponse)
+                        .toList(),
+                "getAllStudents");
 
-        return StudentResponse
+        metrics.recordListSize(students.size());
+        return students;
+    }
+
+    public StudentListVersion getStudentsVersion() {
+        return StudentListVersion
                 .builder()
-                .id(savedStudent.getId())
-                .firstName(savedStudent.getFirstName())
-                .lastName(savedStudent.getLastName())
-                .email(savedStudent.getEmail())
+                .count(repository.estimatedCount())
+                .lastModified(repository.findLastModified().orElse(null))
                 .build();
     }
 
-    public StudentResponse getStudent(String id) {
+    public StudentResponse getStudent(String id, Set<String> fields) {
         return repository
-                .findById(id)
-                .map(student -> new StudentResponse(
-                        student.getId(),
-                        student.getFirstName(),
-                        student.getLastName(),
-                        student.getEmail()
-                ))
+                .findProjectedById(id, fields)
+                .map(StudentMapper::toResponse)
                 .orElseThrow(() -> new IllegalArgumentException("Student with id " + id + " not found"));
     }
 
-    public List<StudentResponse> getAllStudents() {
+    public StudentResponse getStudentByEmail(String email, Set<String> fields) {
         return repository
-                .findAll()
-                .stream()
-                .map(student -> new StudentResponse(
-                        student.getId(),
-                        student.getFirstName(),
-                        student.getLastName(),
-                        student.getEmail()
-                ))
-                .toList();
+                .findProjectedByEmail(email, fields)
+                .map(StudentMapper::toResponse)
+                .orElseThrow(() -> new IllegalArgumentException("Student with email " + email + " not found"));
+    }
+
+    public List<StudentResponse> getAllStudents(Set<String> fields) {
+        List<StudentResponse> students = coalesce(studentLists, fields == null ? Set.of() : Set.copyOf(fields),
+                () -> repository
+                        .findAllProjected(fields)
+                        .stream()
+                        .map(StudentMapper::toResponse)
+                        .toList(),
+                "getAllStudents");
+
+        metrics.recordListSize(students.size());
+        return students;
+    }
+
+    public StudentLookupResponse lookupStudents(StudentLookupRequest request) {
+        if (request == null)
+            throw new IllegalArgumentException("Student lookup cannot be null");
+
+        boolean byIds = request.ids() != null && !request.ids().isEmpty();
+        boolean byEmails = request.emails() != null && !request.emails().isEmpty();
+
+        if (byIds == byEmails)
+            throw new IllegalArgumentException("Student lookup requires either ids or emails");
+
+        Set<String> keys = new LinkedHashSet<>(byIds ? request.ids() : request.emails());
+
+        if (keys.size() > StudentLookupRequest.MAX_SIZE)
+            throw new IllegalArgumentException("Student lookup is limited to " + StudentLookupRequest.MAX_SIZE + " students");
+
+        List<Student> found = byIds ? repository.findAllById(keys) : repository.findAllByEmailIn(keys);
+        Function<Student, String> key = byIds ? Student::getId : Student::getEmail;
+
+        Map<String, Student> students = new HashMap<>(found.size() * 2);
+        found.forEach(student -> students.put(key.apply(student), student));
+
+        List<StudentResponse> responses = new ArrayList<>(students.size());
+        List<String> missing = new ArrayList<>();
+
+        for (String k : keys) {
+            Student student = students.get(k);
+
+            if (student != null)
+                responses.add(StudentMapper.toResponse(student));
+            else
+                missing.add(k);
+        }
+
+        return StudentLookupResponse
+                .builder()
+                .students(responses)
+                .missing(missing)
+                .build();
+    }
+
+    public StudentPage getStudentsPage(int limit, String cursor) {
+        return getStudentsPage(limit, cursor, null);
+    }
+
+    public StudentPage getStudentsPage(int limit, String cursor, Set<String> fields) {
+        return coalesce(studentPages, new PageQuery(limit, cursor, fields),
+                () -> loadStudentsPage(limit, cursor, fields),
+                "getStudentsPage");
+    }
+
+    private StudentPage loadStudentsPage(int limit, String cursor, Set<String> fields) {
+        int pageSize = Math.clamp(limit, 1, MAX_PAGE_SIZE);
+        String afterId = cursor == null || cursor.isBlank() ? null : decodeCursor(cursor);
+
+        List<Student> students = repository.findPage(afterId, pageSize + 1, fields);
+
+        boolean hasNext = students.size() > pageSize;
+        List<Student> content = hasNext ? students.subList(0, pageSize) : students;
+
+        return StudentPage
+                .builder()
+                .content(content
+                        .stream()
+                        .map(StudentMapper::toResponse)
+                        .toList())
+                .nextCursor(hasNext ? encodeCursor(content.getLast().getId()) : null)
+                .build();
+    }
+
+    public void streamStudents(Set<String> fields, Consumer<Student> consumer) {
+        try (Stream<Student> students = repository.streamAll(fields)) {
+            students.forEach(consumer);
+        }
+    }
+
+    public void streamStudents(Set<String> fields, int batchSize, Consumer<Student> consumer) {
+        try (Stream<Student> students = repository.streamAll(fields, Math.clamp(batchSize, 1, MAX_EXPORT_BATCH_SIZE))) {
+            students.forEach(consumer);
+        }
+    }
+
+    public StudentPage searchStudents(String field, String prefix, int limit, String cursor) {
+        return coalesce(studentSearches, new SearchQuery(field, prefix, limit, cursor),
+                () -> loadSearchPage(field, prefix, limit, cursor),
+                "searchStudents");
+    }
+
+    private StudentPage loadSearchPage(String field, String prefix, int limit, String cursor) {
+        int pageSize = Math.clamp(limit, 1, MAX_PAGE_SIZE);
+        String afterValue = null;
+        String afterId = null;
+
+        if (cursor != null && !cursor.isBlank()) {
+            String[] position = decodeCursor(cursor).split(SEARCH_CURSOR_SEPARATOR, 2);
+
+            if (position.length != 2)
+                throw new IllegalArgumentException("Cursor " + cursor + " is invalid");
+
+            afterValue = position[0];
+            afterId = position[1];
+        }
+
+        List<Student> students = repository.searchByPrefix(field, prefix, afterValue, afterId, pageSize + 1);
+
+        boolean hasNext = students.size() > pageSize;
+        List<Student> content = hasNext ? students.subList(0, pageSize) : students;
+        String nextCursor = null;
+
+        if (hasNext) {
+            Student last = content.getLast();
+            String value = switch (field) {
+                case "firstName" -> last.getFirstNameLower();
+                case "lastName" -> last.getLastNameLower();
+                default -> last.getEmailLower();
+            };
+            nextCursor = encodeCursor(value + SEARCH_CURSOR_SEPARATOR + last.getId());
+        }
+
+        return StudentPage
+                .builder()
+                .content(content
+                        .stream()
+                        .map(StudentMapper::toResponse)
+                        .toList())
+                .nextCursor(nextCursor)
+                .build();
     }
 
+    public StudentCountResponse countStudents(boolean estimated, String firstName, String lastName, String email) {
+        boolean filtered = firstName != null || lastName != null || email != null;
+
+        if (estimated && filtered)
+            throw new IllegalArgumentException("Estimated student count does not support filters");
+
+        long count = estimated
+                ? repository.estimatedCount()
+                : repository.countMatching(firstName, lastName, email);
+
+        return StudentCountResponse
+                .builder()
+                .count(count)
+                .estimated(estimated)
+                .build();
+    }
+
+    public boolean existsStudent(String id) {
+        return repository.existsById(id);
+    }
+
+    public boolean existsStudentByEmail(String email) {
+        return coalesce(emailExists, email,
+                () -> repository.existsByEmail(email),
+                "existsStudentByEmail");
+    }
+
+    @CacheEvict(cacheNames = STUDENT_CACHE, key = "#id")
     public void deleteStudent(String id) {
         repository.deleteById(id);
     }
+
+    private <K, V> V coalesce(SingleFlight<K, V> flight, K key, Supplier<V> call, String operation) {
+        if (ConsistencyContext.isRequired())
+            return call.get();
+
+        return flight.execute(key, call, () -> metrics.recordCoalesced(operation));
+    }
+
+    private static String encodeCursor(String id) {
+        return Base64
+                .getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(id.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodeCursor(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor " + cursor + " is invalid");
+        }
+    }
+
+    private record PageQuery(int limit, String cursor, Set<String> fields) {
+    }
+
+    private record SearchQuery(String field, String prefix, int limit, String cursor) {
+    }
 }
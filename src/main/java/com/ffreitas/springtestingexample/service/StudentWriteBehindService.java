@@ -0,0 +1,280 @@
+package com.ffreitas.springtestingexample.service;
+
+import com.ffreitas.springtestingexample.config.StudentWriteBehindProperties;
+import com.ffreitas.springtestingexample.dto.StudentRequest;
+import com.ffreitas.springtestingexample.dto.StudentResponse;
+import com.ffreitas.springtestingexample.dto.StudentWriteStatus;
+import com.ffreitas.springtestingexample.dto.WriteConcernLevel;
+import com.ffreitas.springtestingexample.entity.Student;
+import com.ffreitas.springtestingexample.mapper.StudentMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Accepts students into a bounded queue and writes them to Mongo in batches from a single writer thread.
+ * <p>
+ * The outcome of every accepted student, including a duplicate email, is kept for
+ * {@code student.write-behind.status-retention} and exposed through {@link #getWriteStatus(String)}. The writer
+ * stops after the web server, so requests accepted during a graceful shutdown are still written.
+ * </p>
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "student.write-behind", name = "enabled", havingValue = "true")
+public class StudentWriteBehindService implements SmartLifecycle {
+
+    private static final int DUPLICATE_KEY_ERROR = 11000;
+
+    private final StudentWriteBehindProperties properties;
+
+    private final BlockingQueue<PendingStudent> queue;
+
+    private final Cache<String, StudentWriteStatus> statuses;
+
+    private final Map<WriteConcernLevel, MongoTemplate> templates = new EnumMap<>(WriteConcernLevel.class);
+
+    private final Timer drainTimer;
+
+    private final Timer queueLatency;
+
+    private final Counter written;
+
+    private final Counter duplicates;
+
+    private final Counter failures;
+
+    private final Counter rejected;
+
+    private volatile boolean running;
+
+    private Thread writer;
+
+    public StudentWriteBehindService(StudentWriteBehindProperties properties,
+                                     MongoTemplate mongoTemplate,
+                                     ApplicationContext applicationContext,
+                                     MeterRegistry registry) {
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(properties.capacity());
+        this.statuses = Caffeine
+                .newBuilder()
+                .expireAfterWrite(properties.statusRetention())
+                .build();
+
+        for (WriteConcernLevel level : WriteConcernLevel.values()) {
+            MongoTemplate template = new MongoTemplate(mongoTemplate.getMongoDatabaseFactory(), mongoTemplate.getConverter());
+            template.setWriteConcern(level.writeConcern());
+            template.setApplicationContext(applicationContext);
+            templates.put(level, template);
+        }
+
+        Gauge.builder("student.write-behind.queue.depth", queue, BlockingQueue::size)
+                .description("Students waiting to be written")
+                .register(registry);
+
+        this.drainTimer = Timer.builder("student.write-behind.drain")
+                .description("Time to write one drained batch to Mongo")
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+
+        this.queueLatency = Timer.builder("student.write-behind.latency")
+                .description("Time from enqueue until the student is written")
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+
+        this.written = writes(registry, "written");
+        this.duplicates = writes(registry, "duplicate");
+        this.failures = writes(registry, "failed");
+        this.rejected = writes(registry, "rejected");
+    }
+
+    public Optional<StudentResponse> enqueueStudent(StudentRequest request, WriteConcernLevel level) {
+        if (request == null)
+            throw new IllegalArgumentException("Student cannot be null");
+
+        Student entity = StudentMapper.toEntity(request);
+        entity.setId(new ObjectId().toHexString());
+        status(entity.getId(), StudentWriteStatus.State.PENDING, null);
+
+        if (!running || !queue.offer(new PendingStudent(entity, level, System.nanoTime()))) {
+            statuses.invalidate(entity.getId());
+            rejected.increment();
+            return Optional.empty();
+        }
+
+        return Optional.of(StudentMapper.toResponse(entity));
+    }
+
+    public StudentWriteStatus getWriteStatus(String id) {
+        StudentWriteStatus status = statuses.getIfPresent(id);
+
+        if (status == null)
+            throw new IllegalArgumentException("Queued student with id " + id + " not found");
+
+        return status;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        writer = Thread
+                .ofPlatform()
+                .name("student-write-behind")
+                .daemon()
+                .start(this::drain);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+
+        if (writer == null)
+            return;
+
+        try {
+            writer.join(properties.flushInterval().multipliedBy(10).toMillis() + 5000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        List<PendingStudent> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+
+        if (!remaining.isEmpty()) {
+            log.info("Writing {} students still queued at shutdown", remaining.size());
+
+            try {
+                write(remaining);
+            } catch (RuntimeException e) {
+                failures.increment(remaining.size());
+                log.error("Write-behind could not write {} students at shutdown", remaining.size(), e);
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Below the web server's start/stop phase, so the writer starts before requests are accepted and stops only
+     * once the graceful shutdown has finished them.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void drain() {
+        List<PendingStudent> batch = new ArrayList<>(properties.batchSize());
+
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingStudent first = queue.poll(properties.flushInterval().toNanos(), TimeUnit.NANOSECONDS);
+
+                if (first == null)
+                    continue;
+
+                batch.add(first);
+                queue.drainTo(batch, properties.batchSize() - 1);
+                drainTimer.record(() -> write(batch));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                failures.increment(batch.size());
+                batch.forEach(pending -> status(pending.student().getId(), StudentWriteStatus.State.FAILED, e.getMessage()));
+                log.error("Write-behind batch of {} students failed", batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<PendingStudent> batch) {
+        Map<WriteConcernLevel, List<PendingStudent>> byLevel = new EnumMap<>(WriteConcernLevel.class);
+        batch.forEach(pending -> byLevel.computeIfAbsent(pending.level(), level -> new ArrayList<>()).add(pending));
+
+        byLevel.forEach((level, students) -> {
+            BulkOperations operations = templates
+                    .get(level)
+                    .bulkOps(BulkOperations.BulkMode.UNORDERED, Student.class)
+                    .insert(students.stream().map(PendingStudent::student).toList());
+
+            int failed = 0;
+            Set<Integer> failedIndexes = new HashSet<>();
+
+            try {
+                operations.execute();
+            } catch (BulkOperationException e) {
+                for (var error : e.getErrors()) {
+                    Student student = students.get(error.getIndex()).student();
+                    failed++;
+                    failedIndexes.add(error.getIndex());
+
+                    if (error.getCode() == DUPLICATE_KEY_ERROR) {
+                        duplicates.increment();
+                        status(student.getId(), StudentWriteStatus.State.DUPLICATE,
+                                "Student with email " + student.getEmail() + " already exists");
+                        log.warn("Queued student with email {} already exists", student.getEmail());
+                    } else {
+                        failures.increment();
+                        status(student.getId(), StudentWriteStatus.State.FAILED, error.getMessage());
+                        log.error("Queued student {} could not be written: {}", student.getId(), error.getMessage());
+                    }
+                }
+            }
+
+            written.increment(students.size() - failed);
+
+            StudentWriteStatus.State state = level == WriteConcernLevel.UNACKNOWLEDGED
+                    ? StudentWriteStatus.State.UNACKNOWLEDGED
+                    : StudentWriteStatus.State.WRITTEN;
+
+            for (int i = 0; i < students.size(); i++) {
+                if (!failedIndexes.contains(i))
+                    status(students.get(i).student().getId(), state, null);
+            }
+
+            long now = System.nanoTime();
+            students.forEach(pending -> queueLatency.record(now - pending.enqueuedAt(), TimeUnit.NANOSECONDS));
+        });
+    }
+
+    private void status(String id, StudentWriteStatus.State state, String error) {
+        statuses.put(id, StudentWriteStatus
+                .builder()
+                .id(id)
+                .state(state)
+                .error(error)
+                .build());
+    }
+
+    private static Counter writes(MeterRegistry registry, String result) {
+        return Counter.builder("student.write-behind.writes")
+                .description("Students handled by the write-behind queue")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private record PendingStudent(Student student, WriteConcernLevel level, long enqueuedAt) {
+    }
+}
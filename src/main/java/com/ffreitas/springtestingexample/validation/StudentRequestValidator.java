@@ -0,0 +1,204 @@
+package com.ffreitas.springtestingexample.validation;
+
+import com.ffreitas.springtestingexample.dto.StudentRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.Validator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hand-written equivalent of the Bean Validation constraints declared on {@link StudentRequest}.
+ * <p>
+ * Produces the same messages without reflective constraint traversal, and checks the email in a single pass
+ * over its characters using the rules of Hibernate Validator's {@code @Email}. Quoted local parts, IP literal
+ * domains and non-ASCII addresses are rare and still go through Bean Validation.
+ * </p>
+ */
+@Component
+public class StudentRequestValidator implements Validator {
+
+    private static final int MAX_LOCAL_PART_LENGTH = 64;
+
+    private static final int MAX_DOMAIN_LENGTH = 255;
+
+    private static final int MAX_LABEL_LENGTH = 63;
+
+    private static final boolean[] LOCAL_PART_CHARS = chars("!#$%&'*+/=?^_`{|}~-");
+
+    private static final boolean[] DOMAIN_CHARS = chars("!#$%&'*+/=?^_`{|}~");
+
+    private final jakarta.validation.Validator fallback;
+
+    public StudentRequestValidator(jakarta.validation.Validator fallback) {
+        this.fallback = fallback;
+    }
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return StudentRequest.class.equals(clazz);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors) {
+        check((StudentRequest) target, (field, code, value, message) -> {
+            if (errors instanceof BindingResult result) {
+                String[] codes = result.resolveMessageCodes(code, field);
+                result.addError(new FieldError(result.getObjectName(), field, value, false, codes, null, message));
+            } else {
+                errors.rejectValue(field, code, message);
+            }
+        });
+    }
+
+    /**
+     * @return the violated constraint messages, in field order
+     */
+    public List<String> validate(StudentRequest request) {
+        List<String> messages = new ArrayList<>(3);
+        check(request, (field, code, value, message) -> messages.add(message));
+        return messages;
+    }
+
+    public boolean isValidEmail(String email) {
+        if (email == null || email.isEmpty())
+            return true;
+
+        return switch (checkEmail(email)) {
+            case VALID -> true;
+            case INVALID -> false;
+            case UNSUPPORTED -> fallback.validateValue(StudentRequest.class, "email", email).isEmpty();
+        };
+    }
+
+    private void check(StudentRequest request, Rejection rejection) {
+        required(rejection, "firstName", request.firstName(), StudentRequest.FIRST_NAME_REQUIRED);
+        required(rejection, "lastName", request.lastName(), StudentRequest.LAST_NAME_REQUIRED);
+
+        if (required(rejection, "email", request.email(), StudentRequest.EMAIL_REQUIRED) && !isValidEmail(request.email()))
+            rejection.reject("email", "Email", request.email(), StudentRequest.EMAIL_INVALID);
+    }
+
+    private static boolean required(Rejection rejection, String field, String value, String message) {
+        if (value == null) {
+            rejection.reject(field, "NotNull", null, message);
+            return false;
+        }
+
+        if (value.isEmpty()) {
+            rejection.reject(field, "NotEmpty", value, message);
+            return false;
+        }
+
+        return true;
+    }
+
+    static EmailCheck checkEmail(String email) {
+        int length = email.length();
+
+        if (email.charAt(0) == '"')
+            return EmailCheck.UNSUPPORTED;
+
+        int i = 0;
+        int atom = 0;
+
+        for (; i < length; i++) {
+            char c = email.charAt(i);
+
+            if (c >= 0x80)
+                return EmailCheck.UNSUPPORTED;
+
+            if (c == '@')
+                break;
+
+            if (c == '.') {
+                if (atom == 0)
+                    return EmailCheck.INVALID;
+
+                atom = 0;
+            } else if (LOCAL_PART_CHARS[c]) {
+                atom++;
+            } else {
+                return EmailCheck.INVALID;
+            }
+        }
+
+        if (i == length || atom == 0 || i > MAX_LOCAL_PART_LENGTH)
+            return EmailCheck.INVALID;
+
+        int domainStart = i + 1;
+
+        if (domainStart < length && email.charAt(domainStart) == '[')
+            return EmailCheck.UNSUPPORTED;
+
+        int label = 0;
+        boolean dash = false;
+
+        for (i = domainStart; i < length; i++) {
+            char c = email.charAt(i);
+
+            if (c >= 0x80)
+                return EmailCheck.UNSUPPORTED;
+
+            if (c == '.') {
+                if (label == 0 || dash)
+                    return EmailCheck.INVALID;
+
+                label = 0;
+                continue;
+            }
+
+            if (c == '-') {
+                if (label == 0)
+                    return EmailCheck.INVALID;
+
+                dash = true;
+            } else if (DOMAIN_CHARS[c]) {
+                dash = false;
+            } else {
+                return EmailCheck.INVALID;
+            }
+
+            if (++label > MAX_LABEL_LENGTH)
+                return EmailCheck.INVALID;
+        }
+
+        if (label == 0 || dash || length - domainStart > MAX_DOMAIN_LENGTH)
+            return EmailCheck.INVALID;
+
+        return EmailCheck.VALID;
+    }
+
+    private static boolean[] chars(String symbols) {
+        boolean[] allowed = new boolean[0x80];
+
+        for (char c = 'a'; c <= 'z'; c++)
+            allowed[c] = true;
+
+        for (char c = 'A'; c <= 'Z'; c++)
+            allowed[c] = true;
+
+        for (char c = '0'; c <= '9'; c++)
+            allowed[c] = true;
+
+        for (char c : symbols.toCharArray())
+            allowed[c] = true;
+
+        return allowed;
+    }
+
+    enum EmailCheck {
+        VALID,
+        INVALID,
+        UNSUPPORTED
+    }
+
+    @FunctionalInterface
+    private interface Rejection {
+
+        void reject(String field, String code, Object value, String message);
+    }
+}
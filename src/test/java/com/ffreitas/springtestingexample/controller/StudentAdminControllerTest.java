@@ -0,0 +1,85 @@
+package com.ffreitas.springtestingexample.controller;
+
+import com.ffreitas.springtestingexample.dto.StudentImportResult;
+import com.ffreitas.springtestingexample.dto.StudentRequest;
+import com.ffreitas.springtestingexample.entity.Student;
+import com.ffreitas.springtestingexample.service.StudentBulkService;
+import com.ffreitas.springtestingexample.service.StudentService;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Iterator;
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@WebMvcTest(StudentAdminController.class)
+class StudentAdminControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private StudentService service;
+
+    @MockBean
+    private StudentBulkService bulkService;
+
+    @Test
+    @Order(1)
+    @DisplayName("HTTP Request - Export Students As CSV")
+    @SuppressWarnings("unchecked")
+    void exportCsv() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<Student> consumer = invocation.getArgument(2);
+            consumer.accept(Student.builder().id("123456789").firstName("John").lastName("Doe").email("john.doe@gmail.com").build());
+            return null;
+        }).when(service).streamStudents(isNull(), eq(5000), any(Consumer.class));
+
+        var result = mockMvc.perform(get("/api/v1/admin/students/export").param("batchSize", "5000").accept("text/csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"students.csv\""))
+                .andExpect(content().string("id,firstName,lastName,email\n123456789,John,Doe,john.doe@gmail.com\n"));
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("HTTP Request - Import Students From CSV")
+    @SuppressWarnings("unchecked")
+    void importCsv() throws Exception {
+        when(bulkService.importStudents(any(Iterator.class)))
+                .thenAnswer(invocation -> {
+                    Iterator<StudentRequest> requests = invocation.getArgument(0);
+                    var first = requests.next();
+                    Assertions.assertEquals("john.doe@gmail.com", first.email());
+                    Assertions.assertNull(first.id());
+                    return new StudentImportResult(1, 1, 0, 0, 0);
+                });
+
+        var response = mockMvc.perform(post("/api/v1/admin/students/import")
+                .contentType("text/csv")
+                .content("firstName,lastName,email,id\nJohn,Doe,john.doe@gmail.com,\n"));
+
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.processed").value(1))
+                .andExpect(jsonPath("$.created").value(1));
+    }
+}
@@ -1,23 +1,50 @@
 package com.ffreitas.springtestingexample.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.ffreitas.springtestingexample.dto.StudentBulkResult;
+import com.ffreitas.springtestingexample.dto.StudentCountResponse;
+import com.ffreitas.springtestingexample.dto.StudentListVersion;
+import com.ffreitas.springtestingexample.dto.StudentPage;
+import com.ffreitas.springtestingexample.dto.StudentPurgeRequest;
+import com.ffreitas.springtestingexample.dto.StudentPurgeStatus;
 import com.ffreitas.springtestingexample.dto.StudentRequest;
 import com.ffreitas.springtestingexample.dto.StudentResponse;
+import com.ffreitas.springtestingexample.dto.StudentWriteStatus;
+import com.ffreitas.springtestingexample.dto.WriteConcernLevel;
 import com.ffreitas.springtestingexample.entity.Student;
+import com.ffreitas.springtestingexample.service.StudentBulkService;
+import com.ffreitas.springtestingexample.service.StudentPurgeService;
 import com.ffreitas.springtestingexample.service.StudentService;
+import com.ffreitas.springtestingexample.service.StudentWriteBehindService;
+import com.ffreitas.springtestingexample.validation.StudentRequestValidator;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.Iterator;
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
+import static org.hamcrest.Matchers.hasItem;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -45,6 +72,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @ExtendWith(MockitoExtension.class)
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
 @WebMvcTest(StudentController.class)
+@Import(StudentRequestValidator.class)
 @AutoConfigureMockMvc
 class StudentControllerTest {
 
@@ -54,6 +82,15 @@ class StudentControllerTest {
     @MockBean
     private StudentService service;
 
+    @MockBean
+    private StudentBulkService bulkService;
+
+    @MockBean
+    private StudentWriteBehindService writeBehindService;
+
+    @MockBean
+    private StudentPurgeService purgeService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -165,4 +202,372 @@ class StudentControllerTest {
         response.andDo(print())
                 .andExpect(status().isAccepted());
     }
-}
\ No newline at end of file
+
+    @Test
+    @Order(5)
+    @DisplayName("HTTP Request - Get Students Page")
+    void getStudentsPage() throws Exception {
+        StudentPage page = StudentPage.builder()
+                .content(List.of(StudentResponse.builder()
+                        .id("123456789")
+                        .firstName("John")
+                        .lastName("Doe")
+                        .email("john.doe@gmail.com")
+                        .build()))
+                .nextCursor("MTIzNDU2Nzg5")
+                .build();
+
+        when(service.getStudentsPage(1, null, null))
+                .thenReturn(page);
+
+        var response = mockMvc.perform(get("/api/v1/students").param("limit", "1"));
+
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.content").isArray())
+                .andExpect(jsonPath("$.content[0].id").value("123456789"))
+                .andExpect(jsonPath("$.nextCursor").value("MTIzNDU2Nzg5"));
+    }
+
+    @Test
+    @Order(6)
+    @DisplayName("HTTP Request - Stream All Students")
+    @SuppressWarnings("unchecked")
+    void streamAllStudents() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<Student> consumer = invocation.getArgument(1);
+            consumer.accept(Student.builder().id("123456789").firstName("John").lastName("Doe").email("john.doe@gmail.com").build());
+            consumer.accept(Student.builder().id("987654321").firstName("Jane").lastName("Doe").email("jane.doe@gmail.com").build());
+            return null;
+        }).when(service).streamStudents(isNull(), any(Consumer.class));
+
+        var result = mockMvc.perform(get("/api/v1/students/stream").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(
+                        "{\"id\":\"123456789\",\"firstName\":\"John\",\"lastName\":\"Doe\",\"email\":\"john.doe@gmail.com\"}\n" +
+                        "{\"id\":\"987654321\",\"firstName\":\"Jane\",\"lastName\":\"Doe\",\"email\":\"jane.doe@gmail.com\"}\n"));
+    }
+
+    @Test
+    @Order(7)
+    @DisplayName("HTTP Request - Create Students In Bulk From NDJSON")
+    @SuppressWarnings("unchecked")
+    void createStudentsFromNdjson() throws Exception {
+        when(bulkService.createStudents(any(Iterator.class)))
+                .thenAnswer(invocation -> {
+                    Iterator<StudentRequest> requests = invocation.getArgument(0);
+                    requests.next();
+                    var second = requests.next();
+                    return List.of(
+                            new StudentBulkResult(0, StudentBulkResult.Status.CREATED, "123456789", null),
+                            new StudentBulkResult(1, StudentBulkResult.Status.DUPLICATE, null, "Student with email " + second.email() + " already exists")
+                    );
+                });
+
+        var content = "{\"firstName\":\"John\",\"lastName\":\"Doe\",\"email\":\"john.doe@gmail.com\"}\n" +
+                "{\"firstName\":\"Jane\",\"lastName\":\"Doe\",\"email\":\"jane.doe@gmail.com\"}\n";
+
+        var response = mockMvc.perform(post("/api/v1/students/bulk")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(content));
+
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value("CREATED"))
+                .andExpect(jsonPath("$[0].id").value("123456789"))
+                .andExpect(jsonPath("$[1].status").value("DUPLICATE"))
+                .andExpect(jsonPath("$[1].message").value("Student with email jane.doe@gmail.com already exists"));
+    }
+
+    @Test
+    @Order(8)
+    @DisplayName("HTTP Request - Get All Students With Field Projection")
+    void getAllStudentsWithFields() throws Exception {
+        when(service.getAllStudents(eq(Set.of("id", "email"))))
+                .thenReturn(List.of(StudentResponse.builder()
+                        .id("123456789")
+                        .email("john.doe@gmail.com")
+                        .build()));
+
+        var response = mockMvc.perform(get("/api/v1/students").param("fields", "id,email"));
+
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value("123456789"))
+                .andExpect(jsonPath("$[0].email").value("john.doe@gmail.com"))
+                .andExpect(jsonPath("$[0].firstName").doesNotExist())
+                .andExpect(jsonPath("$[0].lastName").doesNotExist());
+    }
+
+    @Test
+    @Order(9)
+    @DisplayName("HTTP Request - Create Student Asynchronously")
+    void enqueueStudent() throws Exception {
+        StudentRequest studentRequest = StudentRequest.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .email("john.doe@gmail.com")
+                .build();
+
+        when(writeBehindService.enqueueStudent(studentRequest, WriteConcernLevel.MAJORITY))
+                .thenReturn(Optional.of(new StudentResponse("123456789", "John", "Doe", "john.doe@gmail.com")));
+
+        var response = mockMvc.perform(post("/api/v1/students")
+                .header("Prefer", "respond-async")
+                .header("X-Write-Concern", "majority")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(studentRequest)));
+
+        response.andDo(print())
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/v1/students/pending/123456789"))
+                .andExpect(jsonPath("$.id").value("123456789"));
+    }
+
+    @Test
+    @Order(10)
+    @DisplayName("HTTP Request - Create Student Asynchronously - Queue is full")
+    void enqueueStudentIfQueueIsFull() throws Exception {
+        when(writeBehindService.enqueueStudent(any(StudentRequest.class), any(WriteConcernLevel.class)))
+                .thenReturn(Optional.empty());
+
+        var response = mockMvc.perform(post("/api/v1/students")
+                .header("Prefer", "respond-async")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"firstName\":\"John\",\"lastName\":\"Doe\",\"email\":\"john.doe@gmail.com\"}"));
+
+        response.andDo(print())
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
+    @Test
+    @Order(11)
+    @DisplayName("HTTP Request - Purge Students By Email Domain")
+    void purgeStudents() throws Exception {
+        var request = StudentPurgeRequest.builder()
+                .emailDomain("gmail.com")
+                .build();
+
+        when(purgeService.submitPurge(request))
+                .thenReturn(Optional.of(StudentPurgeStatus.builder()
+                        .id("job-1")
+                        .state(StudentPurgeStatus.State.PENDING)
+                        .submittedAt(Instant.now())
+                        .build()));
+
+        var response = mockMvc.perform(post("/api/v1/students/purge")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)));
+
+        response.andDo(print())
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.id").value("job-1"))
+                .andExpect(jsonPath("$.state").value("PENDING"));
+    }
+
+    @Test
+    @Order(12)
+    @DisplayName("HTTP Request - Get Purge Job Status")
+    void getPurge() throws Exception {
+        when(purgeService.getPurge("job-1"))
+                .thenReturn(StudentPurgeStatus.builder()
+                        .id("job-1")
+                        .state(StudentPurgeStatus.State.COMPLETED)
+                        .deleted(42)
+                        .build());
+
+        var response = mockMvc.perform(get("/api/v1/students/purge/{job-id}", "job-1"));
+
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("COMPLETED"))
+                .andExpect(jsonPath("$.deleted").value(42));
+    }
+
+    @Test
+    @Order(13)
+    @DisplayName("HTTP Request - Count Students")
+    void countStudents() throws Exception {
+        when(service.countStudents(true, null, null, null))
+                .thenReturn(new StudentCountResponse(1200, true));
+
+        var response = mockMvc.perform(get("/api/v1/students/count").param("mode", "estimated"));
+
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(1200))
+                .andExpect(jsonPath("$.estimated").value(true));
+    }
+
+    @Test
+    @Order(14)
+    @DisplayName("HTTP Request - Head Students")
+    void headStudents() throws Exception {
+        when(service.countStudents(true, null, null, null))
+                .thenReturn(new StudentCountResponse(1200, true));
+
+        var response = mockMvc.perform(head("/api/v1/students"));
+
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "1200"))
+                .andExpect(content().string(""));
+
+        Mockito.verify(service, Mockito.never()).getAllStudents();
+    }
+
+    @Test
+    @Order(15)
+    @DisplayName("HTTP Request - Head Student By Email - Not found")
+    void headStudentByEmail() throws Exception {
+        when(service.existsStudentByEmail("john.doe@gmail.com"))
+                .thenReturn(false);
+
+        var response = mockMvc.perform(head("/api/v1/students").param("email", "john.doe@gmail.com"));
+
+        response.andDo(print())
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Order(16)
+    @DisplayName("HTTP Request - Get Student by ID - Not modified")
+    void getStudentNotModified() throws Exception {
+        StudentResponse responseStudent = new StudentResponse(
+                "123456789",
+                "John",
+                "Doe",
+                "john.doe@gmail.com",
+                3L,
+                Instant.parse("2024-10-01T10:15:30Z")
+        );
+
+        when(service.getStudent("123456789"))
+                .thenReturn(responseStudent);
+
+        var response = mockMvc.perform(get("/api/v1/students/{student-id}", "123456789")
+                .header("If-None-Match", "W/\"123456789-3\""));
+
+        response.andDo(print())
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "W/\"123456789-3\""))
+                .andExpect(header().stringValues("Vary", hasItem("Accept")))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @Order(17)
+    @DisplayName("HTTP Request - Get All Students - Not modified")
+    void getAllStudentsNotModified() throws Exception {
+        Instant lastModified = Instant.parse("2024-10-01T10:15:30Z");
+
+        when(service.getStudentsVersion())
+                .thenReturn(new StudentListVersion(2, lastModified));
+
+        var response = mockMvc.perform(get("/api/v1/students")
+                .header("If-None-Match", "W/\"students-2-" + lastModified.toEpochMilli() + "\""));
+
+        response.andDo(print())
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        Mockito.verify(service, Mockito.never()).getAllStudents();
+    }
+
+    @Test
+    @Order(18)
+    @DisplayName("HTTP Request - Get All Students - CBOR")
+    void getAllStudentsAsCbor() throws Exception {
+        List<StudentResponse> responseList = List.of(
+                new StudentResponse("123456789", "John", "Doe", "john.doe@gmail.com")
+        );
+
+        when(service.getAllStudents())
+                .thenReturn(responseList);
+
+        var response = mockMvc.perform(get("/api/v1/students").accept("application/cbor"));
+
+        var body = response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/cbor"))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        var students = new ObjectMapper(new CBORFactory()).readValue(body, StudentResponse[].class);
+
+        Assertions.assertEquals("john.doe@gmail.com", students[0].email());
+    }
+
+    @Test
+    @Order(19)
+    @DisplayName("HTTP Request - Create Student - Invalid email")
+    void createStudentWithInvalidEmail() throws Exception {
+        StudentRequest studentRequest = StudentRequest.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .email("john.doe@@gmail.com")
+                .build();
+
+        var response = mockMvc.perform(post("/api/v1/students")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(studentRequest)));
+
+        response.andDo(print())
+                .andExpect(status().isBadRequest());
+
+        Mockito.verify(service, Mockito.never()).createStudent(any());
+    }
+
+    @Test
+    @Order(20)
+    @DisplayName("HTTP Request - Get Queued Student Write Status")
+    void getWriteStatus() throws Exception {
+        when(writeBehindService.getWriteStatus("123456789"))
+                .thenReturn(StudentWriteStatus.builder()
+                        .id("123456789")
+                        .state(StudentWriteStatus.State.DUPLICATE)
+                        .error("Student with email john.doe@gmail.com already exists")
+                        .build());
+
+        var response = mockMvc.perform(get("/api/v1/students/pending/{id}", "123456789"));
+
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("DUPLICATE"))
+                .andExpect(jsonPath("$.error").value("Student with email john.doe@gmail.com already exists"));
+    }
+
+    @ParameterizedTest
+    @Order(21)
+    @DisplayName("HTTP Request - Create Student Asynchronously - Mongo write concern spelling")
+    @CsvSource({
+            "w:0, UNACKNOWLEDGED",
+            "0, UNACKNOWLEDGED",
+            "w:1, W1",
+            "1, W1",
+            "w:majority, MAJORITY",
+            "W:MAJORITY, MAJORITY"
+    })
+    void enqueueStudentWithMongoWriteConcern(String header, WriteConcernLevel level) throws Exception {
+        when(writeBehindService.enqueueStudent(any(StudentRequest.class), Mockito.eq(level)))
+                .thenReturn(Optional.of(new StudentResponse("123456789", "John", "Doe", "john.doe@gmail.com")));
+
+        var response = mockMvc.perform(post("/api/v1/students")
+                .header("Prefer", "respond-async")
+                .header("X-Write-Concern", header)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"firstName\":\"John\",\"lastName\":\"Doe\",\"email\":\"john.doe@gmail.com\"}"));
+
+        response.andDo(print())
+                .andExpect(status().isAccepted());
+    }
+}
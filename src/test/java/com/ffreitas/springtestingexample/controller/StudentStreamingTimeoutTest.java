@@ -0,0 +1,147 @@
+package com.ffreitas.springtestingexample.controller;
+
+import com.ffreitas.springtestingexample.config.StreamingConfig;
+import com.ffreitas.springtestingexample.config.StudentStreamingProperties;
+import com.ffreitas.springtestingexample.entity.Student;
+import com.ffreitas.springtestingexample.service.StudentBulkService;
+import com.ffreitas.springtestingexample.service.StudentPurgeService;
+import com.ffreitas.springtestingexample.service.StudentService;
+import com.ffreitas.springtestingexample.service.StudentWriteBehindService;
+import com.ffreitas.springtestingexample.validation.StudentRequestValidator;
+import org.junit.jupiter.api.*;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Student Streaming Timeout Test
+ * <p>
+ * This class is responsible for testing that the streaming endpoints outlive the container's default async
+ * timeout. Tomcat runs with a short async timeout in place of its 30s default and the streams take longer.
+ * </p>
+ */
+@SpringBootTest(
+        classes = StudentStreamingTimeoutTest.StreamingTestConfiguration.class,
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT
+)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class StudentStreamingTimeoutTest {
+
+    private static final Duration CONTAINER_ASYNC_TIMEOUT = Duration.ofMillis(500);
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    private final Set<String> streamingThreads = ConcurrentHashMap.newKeySet();
+
+    @LocalServerPort
+    private int port;
+
+    @MockBean
+    private StudentService service;
+
+    @MockBean
+    private StudentBulkService bulkService;
+
+    @MockBean
+    private StudentWriteBehindService writeBehindService;
+
+    @MockBean
+    private StudentPurgeService purgeService;
+
+    @Test
+    @Order(1)
+    @DisplayName("HTTP Request - Stream All Students - Outlives the container async timeout")
+    @SuppressWarnings("unchecked")
+    void streamOutlivesAsyncTimeout() throws Exception {
+        doAnswer(invocation -> {
+            slowStream(invocation.getArgument(1));
+            return null;
+        }).when(service).streamStudents(isNull(), any(Consumer.class));
+
+        var response = get("/api/v1/students/stream", "application/x-ndjson");
+
+        assertEquals(200, response.statusCode());
+        assertEquals(2, response.body().lines().count());
+        assertTrue(streamingThreads.stream().allMatch(name -> name.startsWith("student-streaming-")), streamingThreads::toString);
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("HTTP Request - Export Students - Outlives the container async timeout")
+    @SuppressWarnings("unchecked")
+    void exportOutlivesAsyncTimeout() throws Exception {
+        doAnswer(invocation -> {
+            slowStream(invocation.getArgument(2));
+            return null;
+        }).when(service).streamStudents(isNull(), anyInt(), any(Consumer.class));
+
+        var response = get("/api/v1/admin/students/export", "application/x-ndjson");
+
+        assertEquals(200, response.statusCode());
+        assertEquals(2, response.body().lines().count());
+    }
+
+    private void slowStream(Consumer<Student> consumer) throws InterruptedException {
+        streamingThreads.add(Thread.currentThread().getName());
+
+        consumer.accept(Student.builder().id("123456789").firstName("John").lastName("Doe").email("john.doe@gmail.com").build());
+        Thread.sleep(CONTAINER_ASYNC_TIMEOUT.multipliedBy(3));
+        consumer.accept(Student.builder().id("987654321").firstName("Jane").lastName("Doe").email("jane.doe@gmail.com").build());
+    }
+
+    private HttpResponse<String> get(String path, String accept) throws Exception {
+        var request = HttpRequest
+                .newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Accept", accept)
+                .build();
+
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Configuration
+    @EnableConfigurationProperties(StudentStreamingProperties.class)
+    @Import({StudentController.class, StudentAdminController.class, StudentRequestValidator.class, StreamingConfig.class})
+    @ImportAutoConfiguration({
+            ServletWebServerFactoryAutoConfiguration.class,
+            DispatcherServletAutoConfiguration.class,
+            WebMvcAutoConfiguration.class,
+            HttpMessageConvertersAutoConfiguration.class,
+            JacksonAutoConfiguration.class,
+            ValidationAutoConfiguration.class
+    })
+    static class StreamingTestConfiguration {
+
+        @Bean
+        WebServerFactoryCustomizer<TomcatServletWebServerFactory> shortAsyncTimeout() {
+            return factory -> factory.addConnectorCustomizers(connector -> connector.setAsyncTimeout(CONTAINER_ASYNC_TIMEOUT.toMillis()));
+        }
+    }
+}
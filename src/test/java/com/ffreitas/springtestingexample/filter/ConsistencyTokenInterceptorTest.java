@@ -0,0 +1,105 @@
+package com.ffreitas.springtestingexample.filter;
+
+import com.ffreitas.springtestingexample.repository.ConsistencyContext;
+import com.ffreitas.springtestingexample.repository.ConsistencyToken;
+import org.bson.BsonBinary;
+import org.bson.BsonDocument;
+import org.bson.BsonInt64;
+import org.bson.BsonTimestamp;
+import org.junit.jupiter.api.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Consistency Token Interceptor Test
+ * <p>
+ * This class is responsible for testing that tokens the cluster could not have issued are rejected with 400
+ * before any read runs
+ * </p>
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ConsistencyTokenInterceptorTest {
+
+    private final Instant now = Instant.now();
+
+    private final ConsistencyTokenInterceptor interceptor = new ConsistencyTokenInterceptor(Clock.fixed(now, ZoneOffset.UTC));
+
+    @AfterEach
+    void tearDown() {
+        ConsistencyContext.clear();
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Consistency Token Interceptor Test - Recent token is required for the request")
+    void recent_token() throws Exception {
+        var token = token(now.minusSeconds(5), signature());
+        var response = new MockHttpServletResponse();
+
+        assertTrue(interceptor.preHandle(request(token.encode()), response, new Object()));
+        assertEquals(200, response.getStatus());
+        assertEquals(token, ConsistencyContext.required().orElseThrow());
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Consistency Token Interceptor Test - Well-formed token ahead of the cluster gets 400")
+    void token_ahead_of_cluster() throws Exception {
+        var token = token(now.plus(Duration.ofHours(1)), signature());
+        var response = new MockHttpServletResponse();
+
+        assertFalse(interceptor.preHandle(request(token.encode()), response, new Object()));
+        assertEquals(400, response.getStatus());
+        assertEquals("Consistency token is ahead of the cluster time", response.getErrorMessage());
+        assertTrue(ConsistencyContext.required().isEmpty());
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Consistency Token Interceptor Test - Cluster time without a signature gets 400")
+    void token_without_signature() throws Exception {
+        var token = token(now, null);
+        var response = new MockHttpServletResponse();
+
+        assertFalse(interceptor.preHandle(request(token.encode()), response, new Object()));
+        assertEquals(400, response.getStatus());
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Consistency Token Interceptor Test - Unreadable token gets 400")
+    void unreadable_token() throws Exception {
+        var response = new MockHttpServletResponse();
+
+        assertFalse(interceptor.preHandle(request("not-a-token"), response, new Object()));
+        assertEquals(400, response.getStatus());
+    }
+
+    private static ConsistencyToken token(Instant time, BsonDocument signature) {
+        var timestamp = new BsonTimestamp((int) time.getEpochSecond(), 1);
+        var clusterTime = new BsonDocument("clusterTime", timestamp);
+
+        if (signature != null)
+            clusterTime.append("signature", signature);
+
+        return new ConsistencyToken(timestamp, clusterTime);
+    }
+
+    private static BsonDocument signature() {
+        return new BsonDocument("hash", new BsonBinary(new byte[20]))
+                .append("keyId", new BsonInt64(0));
+    }
+
+    private static MockHttpServletRequest request(String token) {
+        var request = new MockHttpServletRequest("GET", "/api/v1/students");
+        request.addHeader(ConsistencyToken.HEADER, token);
+        return request;
+    }
+}
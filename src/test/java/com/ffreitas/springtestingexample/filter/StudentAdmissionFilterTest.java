@@ -0,0 +1,170 @@
+package com.ffreitas.springtestingexample.filter;
+
+import com.ffreitas.springtestingexample.config.StudentAdmissionProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Student Admission Filter Test
+ * <p>
+ * This class is responsible for testing the rate, concurrency and adaptive limits in front of the student API
+ * </p>
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class StudentAdmissionFilterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    @Order(1)
+    @DisplayName("Admission Filter Test - Client over its rate gets 429 with Retry-After")
+    void rate_limit() throws Exception {
+        var filter = new StudentAdmissionFilter(properties(Map.of("list", new StudentAdmissionProperties.Rate(2, 0.1)), 4), registry);
+
+        assertEquals(200, perform(filter, list("batch-client")).getStatus());
+        assertEquals(200, perform(filter, list("batch-client")).getStatus());
+
+        var rejected = perform(filter, list("batch-client"));
+
+        assertEquals(429, rejected.getStatus());
+        assertEquals("10", rejected.getHeader("Retry-After"));
+        assertEquals(200, perform(filter, list("other-client")).getStatus());
+        assertEquals(1, registry.get("student.admission.rejected").tag("reason", "rate").counter().count());
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Admission Filter Test - Expensive endpoints beyond the concurrency limit get 503")
+    void concurrency_limit() throws Exception {
+        var filter = new StudentAdmissionFilter(properties(Map.of(), 1), registry);
+        var entered = new CountDownLatch(1);
+        var proceed = new CountDownLatch(1);
+
+        FilterChain slow = (request, response) -> {
+            entered.countDown();
+
+            try {
+                proceed.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+
+        Thread first = Thread.ofVirtual().start(() -> {
+            try {
+                filter.doFilter(list("client-a"), new MockHttpServletResponse(), slow);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        var rejected = perform(filter, list("client-b"));
+
+        assertEquals(503, rejected.getStatus());
+        assertEquals("1", rejected.getHeader("Retry-After"));
+
+        proceed.countDown();
+        first.join();
+
+        assertEquals(200, perform(filter, list("client-b")).getStatus());
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Admission Filter Test - Endpoints are classified by method, path and parameters")
+    void endpoint() {
+        assertEquals("list", StudentAdmissionFilter.endpoint(list("client")));
+
+        var page = new MockHttpServletRequest("GET", "/api/v1/students");
+        page.setParameter("limit", "10");
+        assertEquals("page", StudentAdmissionFilter.endpoint(page));
+
+        assertEquals("export", StudentAdmissionFilter.endpoint(new MockHttpServletRequest("GET", "/api/v1/admin/students/export")));
+        assertEquals("post", StudentAdmissionFilter.endpoint(new MockHttpServletRequest("POST", "/api/v1/students")));
+        assertEquals("default", StudentAdmissionFilter.endpoint(new MockHttpServletRequest("GET", "/api/v1/students/123")));
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Admission Filter Test - Client header is ignored from untrusted addresses")
+    void untrusted_client_header() throws Exception {
+        var filter = new StudentAdmissionFilter(properties(Map.of("list", new StudentAdmissionProperties.Rate(1, 0.1)), 4), registry);
+
+        var first = list("client-a");
+        first.setRemoteAddr("203.0.113.7");
+        var second = list("client-b");
+        second.setRemoteAddr("203.0.113.7");
+
+        assertEquals(200, perform(filter, first).getStatus());
+        assertEquals(429, perform(filter, second).getStatus());
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("Admission Filter Test - Slow long-running endpoints do not shrink the adaptive limit")
+    void unsampled_endpoints() throws Exception {
+        var filter = new StudentAdmissionFilter(properties(Map.of(), 4, Duration.ofNanos(1)), registry);
+        FilterChain slow = (request, response) -> {
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+
+        filter.doFilter(list("client-a"), new MockHttpServletResponse(), slow);
+
+        assertEquals(200, registry.get("student.admission.limit").gauge().value());
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/students/123"), new MockHttpServletResponse(), slow);
+
+        assertEquals(180, registry.get("student.admission.limit").gauge().value());
+    }
+
+    private static MockHttpServletResponse perform(StudentAdmissionFilter filter, MockHttpServletRequest request) throws Exception {
+        var response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest list(String client) {
+        var request = new MockHttpServletRequest("GET", "/api/v1/students");
+        request.addHeader("X-Client-Id", client);
+        return request;
+    }
+
+    private static StudentAdmissionProperties properties(Map<String, StudentAdmissionProperties.Rate> endpoints, int concurrency) {
+        return properties(endpoints, concurrency, Duration.ofMillis(250));
+    }
+
+    private static StudentAdmissionProperties properties(Map<String, StudentAdmissionProperties.Rate> endpoints,
+                                                         int concurrency,
+                                                         Duration targetLatency) {
+        return new StudentAdmissionProperties(
+                true,
+                "X-Client-Id",
+                Set.of("127.0.0.1"),
+                new StudentAdmissionProperties.Rate(100, 50),
+                endpoints,
+                Set.of("list", "stream", "export"),
+                concurrency,
+                new StudentAdmissionProperties.Adaptive(true, targetLatency, 200, 20, 1000, 0.9,
+                        Set.of("list", "stream", "export", "import", "bulk")),
+                Duration.ofMinutes(10)
+        );
+    }
+}
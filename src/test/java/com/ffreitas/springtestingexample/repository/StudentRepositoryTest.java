@@ -1,28 +1,40 @@
 package com.ffreitas.springtestingexample.repository;
 
-import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ffreitas.springtestingexample.config.StudentMongoProperties;
 import com.ffreitas.springtestingexample.entity.Student;
 import org.assertj.core.api.Assertions;
+import org.bson.BsonTimestamp;
+import org.bson.Document;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
 import org.springframework.core.io.Resource;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.dao.DuplicateKeyException;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 //@DataJpaTest
 //@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
 @DataMongoTest
+@EnableConfigurationProperties(StudentMongoProperties.class)
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
 class StudentRepositoryTest {
 
     @Autowired
     private StudentRepository repository;
 
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
     @Value("classpath:test-data.json")
     private Resource resource;
 
@@ -32,14 +44,16 @@ class StudentRepositoryTest {
     void setUp() throws IOException {
         ObjectMapper objectMapper = new ObjectMapper();
 
-        List<Student> studentsTestList = objectMapper
-                .readValue(resource.getInputStream(), new TypeReference<>() {
-                });
+        try (MappingIterator<Student> studentsTestList = objectMapper
+                .readerFor(Student.class)
+                .readValues(resource.getInputStream())) {
 
-        if (studentsTestList == null || studentsTestList.isEmpty())
-            throw new RuntimeException("No data found in the test-data.json file");
+            while (studentsTestList.hasNext())
+                this.savedStudentsTest.add(repository.save(studentsTestList.next()));
+        }
 
-        this.savedStudentsTest = repository.saveAll(studentsTestList);
+        if (savedStudentsTest.isEmpty())
+            throw new RuntimeException("No data found in the test-data.json file");
     }
 
     @AfterEach
@@ -93,4 +107,99 @@ class StudentRepositoryTest {
         Assertions.assertThat(result).isNotEmpty();
         Assertions.assertThat(result).hasSize(2);
     }
-}
\ No newline at end of file
+
+    @Test
+    @Order(5)
+    @DisplayName("Unique Email Repository Test")
+    void insert_duplicate_email() {
+        var duplicate = Student.builder()
+                .firstName("Johnny")
+                .lastName("Doe")
+                .email(savedStudentsTest.getFirst().getEmail())
+                .build();
+
+        Assertions.assertThatThrownBy(() -> repository.insert(duplicate))
+                .isInstanceOf(DuplicateKeyException.class);
+    }
+
+    @Test
+    @Order(6)
+    @DisplayName("Find Student With Projection Repository Test")
+    void find_projected_by_email() {
+        var email = savedStudentsTest
+                .getFirst()
+                .getEmail();
+
+        var result = repository.findProjectedByEmail(email, Set.of("email"));
+
+        Assertions.assertThat(result).isPresent();
+        Assertions.assertThat(result.get().getEmail()).isEqualTo(email);
+        Assertions.assertThat(result.get().getId()).isNull();
+        Assertions.assertThat(result.get().getFirstName()).isNull();
+    }
+
+    @Test
+    @Order(7)
+    @DisplayName("Search Students By Prefix Repository Test")
+    void search_by_prefix() {
+        var result = repository.searchByPrefix("firstName", "JA", null, null, 10);
+
+        Assertions.assertThat(result).hasSize(1);
+        Assertions.assertThat(result.getFirst().getEmail()).isEqualTo("jane.silver@gmail.com");
+    }
+
+    @Test
+    @Order(8)
+    @DisplayName("Search Students Query Plan Repository Test")
+    void search_uses_index() {
+        var first = savedStudentsTest.getFirst();
+
+        for (var field : StudentRepositoryCustomImpl.SEARCH_FIELDS.keySet()) {
+            for (var query : new Query[]{
+                    StudentRepositoryCustomImpl.searchQuery(field, "j", null, null, 10),
+                    StudentRepositoryCustomImpl.searchQuery(field, "j", "john", first.getId(), 10)
+            }) {
+                var plan = mongoTemplate
+                        .getCollection(mongoTemplate.getCollectionName(Student.class))
+                        .find(query.getQueryObject())
+                        .sort(query.getSortObject())
+                        .limit(query.getLimit())
+                        .explain()
+                        .toJson();
+
+                Assertions.assertThat(plan).contains("IXSCAN");
+                Assertions.assertThat(plan).doesNotContain("COLLSCAN");
+            }
+        }
+    }
+
+    @Test
+    @Order(9)
+    @DisplayName("Find Student By Id With Read Preference Repository Test")
+    void find_by_id() {
+        var first = savedStudentsTest.getFirst();
+
+        var result = repository.findById(first.getId());
+
+        Assertions.assertThat(result).isPresent();
+        Assertions.assertThat(result.get().getEmail()).isEqualTo(first.getEmail());
+    }
+
+    @Test
+    @Order(10)
+    @DisplayName("Find Student With Consistency Token Repository Test")
+    void find_with_consistency_token() {
+        var first = savedStudentsTest.getFirst();
+        Document ping = mongoTemplate.executeCommand("{ ping: 1 }");
+        var token = ConsistencyToken.decode(new ConsistencyToken((BsonTimestamp) ping.get("operationTime"), null).encode());
+
+        ConsistencyContext.begin(token, written -> {});
+
+        try {
+            Assertions.assertThat(repository.findById(first.getId())).isPresent();
+            Assertions.assertThat(repository.countMatching(null, null, first.getEmail())).isEqualTo(1);
+        } finally {
+            ConsistencyContext.clear();
+        }
+    }
+}
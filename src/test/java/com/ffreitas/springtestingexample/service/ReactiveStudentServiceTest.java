@@ -0,0 +1,78 @@
+package com.ffreitas.springtestingexample.service;
+
+import com.ffreitas.springtestingexample.dto.StudentRequest;
+import com.ffreitas.springtestingexample.entity.Student;
+import com.ffreitas.springtestingexample.repository.ReactiveStudentRepository;
+import org.junit.jupiter.api.*;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DuplicateKeyException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.mockito.Mockito.when;
+
+/**
+ * Reactive Student Service Test
+ * <p>
+ * This class is responsible for testing the reactive counterpart of the Student Service, enabled with the
+ * {@code reactive} profile.
+ * </p>
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ReactiveStudentServiceTest {
+
+    @Mock
+    private ReactiveStudentRepository repository;
+
+    @InjectMocks
+    private ReactiveStudentService service;
+
+    @BeforeEach
+    void setUp() { MockitoAnnotations.openMocks(this); }
+
+    @Test
+    @Order(1)
+    @DisplayName("Create Student Reactive Service Test - Student already exists")
+    void create_student_if_student_already_exists() {
+        var request = new StudentRequest(null, "John", "Doe", "john.doe@gmail.com");
+
+        when(repository.insert(Mockito.any(Student.class)))
+                .thenReturn(Mono.error(new DuplicateKeyException("E11000 duplicate key error")));
+
+        StepVerifier.create(service.createStudent(request))
+                .expectErrorMatches(e -> e instanceof IllegalArgumentException
+                        && e.getMessage().equals("Student with email john.doe@gmail.com already exists"))
+                .verify();
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Get Student Reactive Service Test - Student not found")
+    void get_student_if_not_found() {
+        when(repository.findById("123456789"))
+                .thenReturn(Mono.empty());
+
+        StepVerifier.create(service.getStudent("123456789"))
+                .expectErrorMessage("Student with id 123456789 not found")
+                .verify();
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Get All Students Reactive Service Test - Demand is propagated")
+    void get_all_students_with_backpressure() {
+        when(repository.findAll())
+                .thenReturn(Flux.range(0, 1000).map(i -> Student.builder().id(String.valueOf(i)).build()));
+
+        StepVerifier.create(service.getAllStudents(), 10)
+                .expectNextCount(10)
+                .thenRequest(5)
+                .expectNextCount(5)
+                .thenCancel()
+                .verify();
+    }
+}
@@ -0,0 +1,91 @@
+package com.ffreitas.springtestingexample.service;
+
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Single Flight Test
+ * <p>
+ * This class is responsible for testing that concurrent calls for the same key share one backend call
+ * </p>
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class SingleFlightTest {
+
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+
+    @Test
+    @Order(1)
+    @DisplayName("Single Flight Test - Failure is shared with every waiter and not kept")
+    void failure_is_shared() throws Exception {
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var coalesced = new AtomicInteger();
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> first = executor.submit(() -> singleFlight.execute("key", () -> {
+                started.countDown();
+                await(release);
+                throw new IllegalArgumentException("Student with id key not found");
+            }, coalesced::incrementAndGet));
+
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            Future<String> second = executor.submit(() -> singleFlight.execute("key", () -> "unexpected", coalesced::incrementAndGet));
+
+            while (coalesced.get() == 0)
+                Thread.onSpinWait();
+
+            release.countDown();
+
+            for (var future : List.of(first, second)) {
+                var exp = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+                assertInstanceOf(IllegalArgumentException.class, exp.getCause());
+            }
+        }
+
+        assertEquals(0, singleFlight.inFlight());
+        assertEquals("fresh", singleFlight.execute("key", () -> "fresh", () -> fail("Nothing is in flight")));
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Single Flight Test - Different keys do not wait for each other")
+    void different_keys() throws Exception {
+        var calls = new AtomicInteger();
+        List<Future<String>> results = new ArrayList<>();
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 4; i++) {
+                String key = "key-" + i;
+                results.add(executor.submit(() -> singleFlight.execute(key, () -> {
+                    calls.incrementAndGet();
+                    return key;
+                }, () -> fail("Keys are distinct"))));
+            }
+
+            for (int i = 0; i < 4; i++)
+                assertEquals("key-" + i, results.get(i).get(5, TimeUnit.SECONDS));
+        }
+
+        assertEquals(4, calls.get());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.ffreitas.springtestingexample.service;
+
+import com.ffreitas.springtestingexample.dto.StudentBulkResult;
+import com.ffreitas.springtestingexample.dto.StudentRequest;
+import com.ffreitas.springtestingexample.entity.Student;
+import com.ffreitas.springtestingexample.repository.StudentRepository;
+import com.ffreitas.springtestingexample.validation.StudentRequestValidator;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.*;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Student Bulk Service Test
+ * <p>
+ * This class is responsible for testing the bulk ingestion of students, where every item gets its own result
+ * and a failing item never stops the rest of the batch.
+ * </p>
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class StudentBulkServiceTest {
+
+    @Mock
+    private StudentRepository repository;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    private StudentBulkService service;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        service = new StudentBulkService(repository, mongoTemplate, new StudentRequestValidator(validator));
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Create Students In Bulk Service Test")
+    void create_students() {
+        var requests = List.of(
+                new StudentRequest(null, "John", "Doe", "john.doe@gmail.com"),
+                new StudentRequest(null, "", "Doe", "invalid"),
+                new StudentRequest(null, "Jane", "Doe", "jane.doe@gmail.com"),
+                new StudentRequest(null, "John", "Again", "john.doe@gmail.com"),
+                new StudentRequest(null, "Jack", "Doe", "jack.doe@gmail.com")
+        );
+
+        when(repository.findByEmailIn(Mockito.anyCollection()))
+                .thenReturn(List.of(Student.builder().email("jane.doe@gmail.com").build()));
+
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Student.class))
+                .thenReturn(bulkOperations);
+
+        when(bulkOperations.insert(Mockito.anyList()))
+                .thenReturn(bulkOperations);
+
+        var result = service.createStudents(requests.iterator());
+
+        assertEquals(requests.size(), result.size());
+        assertEquals(StudentBulkResult.Status.CREATED, result.get(0).status());
+        assertNotNull(result.get(0).id());
+        assertEquals(StudentBulkResult.Status.INVALID, result.get(1).status());
+        assertEquals("Student email is invalid; Student first name is required", result.get(1).message());
+        assertEquals(StudentBulkResult.Status.DUPLICATE, result.get(2).status());
+        assertEquals(StudentBulkResult.Status.DUPLICATE, result.get(3).status());
+        assertEquals(StudentBulkResult.Status.CREATED, result.get(4).status());
+
+        verify(repository, times(1)).findByEmailIn(Mockito.anyCollection());
+        verify(bulkOperations, times(1)).execute();
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Create Students In Bulk Service Test - Item is null")
+    void create_students_if_item_is_null() {
+        var requests = new ArrayList<StudentRequest>();
+        requests.add(null);
+
+        var result = service.createStudents(requests.iterator());
+
+        assertEquals(1, result.size());
+        assertEquals(StudentBulkResult.Status.INVALID, result.getFirst().status());
+        assertEquals("Student cannot be null", result.getFirst().message());
+
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Import Students Service Test - Ids are kept and only counts are returned")
+    @SuppressWarnings("unchecked")
+    void import_students() {
+        var requests = List.of(
+                new StudentRequest("66f1a0000000000000000001", "John", "Doe", "john.doe@gmail.com"),
+                new StudentRequest(null, "Jane", "Doe", "invalid")
+        );
+
+        when(repository.findByEmailIn(Mockito.anyCollection()))
+                .thenReturn(List.of());
+
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Student.class))
+                .thenReturn(bulkOperations);
+
+        when(bulkOperations.insert(Mockito.anyList()))
+                .thenReturn(bulkOperations);
+
+        var result = service.importStudents(requests.iterator());
+
+        assertEquals(2, result.processed());
+        assertEquals(1, result.created());
+        assertEquals(1, result.invalid());
+
+        ArgumentCaptor<List<Student>> captor = ArgumentCaptor.forClass(List.class);
+        verify(bulkOperations).insert(captor.capture());
+        assertEquals("66f1a0000000000000000001", captor.getValue().getFirst().getId());
+    }
+}
@@ -0,0 +1,94 @@
+package com.ffreitas.springtestingexample.service;
+
+import com.ffreitas.springtestingexample.config.StudentChangeStreamProperties;
+import com.ffreitas.springtestingexample.dto.StudentResponse;
+import com.ffreitas.springtestingexample.entity.Student;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Student Change Stream Service Replica Set Test
+ * <p>
+ * This class is responsible for testing the change stream against the single-node replica set from
+ * docker-compose.yml: a node that restarts resumes from its stored token and applies the writes it missed.
+ * </p>
+ */
+@DataMongoTest
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class StudentChangeStreamServiceReplicaSetTest {
+
+    private static final String NODE_ID = "replica-set-test";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(StudentService.STUDENT_CACHE);
+
+    @AfterEach
+    void tearDown() {
+        mongoTemplate.remove(new Query(), Student.class);
+        mongoTemplate.remove(query(where("_id").is(NODE_ID)), StudentChangeStreamService.TOKEN_COLLECTION);
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Change Stream Service Test - Restart resumes from the stored token")
+    void restart_resumes_from_token() throws InterruptedException {
+        Student student = mongoTemplate.insert(Student.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .email("john.doe@gmail.com")
+                .build());
+
+        Cache cache = cacheManager.getCache(StudentService.STUDENT_CACHE);
+        cache.put(student.getId(), new StudentResponse(student.getId(), "John", "Doe", "john.doe@gmail.com"));
+
+        StudentChangeStreamService first = service();
+        first.start();
+        await(() -> mongoTemplate.exists(query(where("_id").is(NODE_ID)), StudentChangeStreamService.TOKEN_COLLECTION));
+        first.stop();
+
+        mongoTemplate.updateFirst(query(where("id").is(student.getId())), Update.update("firstName", "Johnny"), Student.class);
+
+        StudentChangeStreamService second = service();
+        second.start();
+
+        try {
+            await(() -> "Johnny".equals(cache.get(student.getId(), StudentResponse.class).firstName()));
+        } finally {
+            second.stop();
+        }
+    }
+
+    private StudentChangeStreamService service() {
+        return new StudentChangeStreamService(
+                mongoTemplate,
+                cacheManager,
+                new StudentChangeStreamProperties(true, NODE_ID, 500, Duration.ofMillis(100), Duration.ZERO, Duration.ofMillis(100)),
+                new SimpleMeterRegistry()
+        );
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Condition not met within 10 seconds");
+            Thread.sleep(50);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.ffreitas.springtestingexample.service;
+
+import com.ffreitas.springtestingexample.config.StudentChangeStreamProperties;
+import com.ffreitas.springtestingexample.dto.StudentResponse;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.BsonDateTime;
+import org.bson.BsonDocument;
+import org.bson.BsonObjectId;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.*;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Student Change Stream Service Test
+ * <p>
+ * This class is responsible for testing how change events are applied to the local student cache. Events are
+ * applied directly, the stream itself needs a replica set (see docker-compose.yml).
+ * </p>
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class StudentChangeStreamServiceTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private CacheManager cacheManager;
+
+    private SimpleMeterRegistry registry;
+
+    private StudentChangeStreamService service;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, new MongoMappingContext());
+        converter.afterPropertiesSet();
+
+        when(mongoTemplate.getConverter())
+                .thenReturn(converter);
+
+        cacheManager = new ConcurrentMapCacheManager(StudentService.STUDENT_CACHE);
+        registry = new SimpleMeterRegistry();
+
+        service = new StudentChangeStreamService(
+                mongoTemplate,
+                cacheManager,
+                new StudentChangeStreamProperties(true, "node-1", 500, Duration.ofSeconds(1), Duration.ofSeconds(5), Duration.ofSeconds(5)),
+                registry
+        );
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Change Stream Service Test - Insert of an uncached student is not cached")
+    void insert_is_not_cached() {
+        ObjectId id = new ObjectId();
+        Document document = new Document("_id", id)
+                .append("firstName", "John")
+                .append("lastName", "Doe")
+                .append("email", "john.doe@gmail.com");
+
+        service.apply(event(OperationType.INSERT, id, document));
+
+        assertNull(cacheManager.getCache(StudentService.STUDENT_CACHE).get(id.toHexString()));
+        assertEquals(1, registry.get("student.change-stream.lag").timer().count());
+        assertEquals(1, registry.get("student.change-stream.events").tag("operation", "insert").counter().count());
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Change Stream Service Test - Delete is evicted from the cache")
+    void delete_is_evicted() {
+        ObjectId id = new ObjectId();
+        var cache = cacheManager.getCache(StudentService.STUDENT_CACHE);
+        cache.put(id.toHexString(), new StudentResponse(id.toHexString(), "John", "Doe", "john.doe@gmail.com"));
+
+        service.apply(event(OperationType.DELETE, id, null));
+
+        assertNull(cache.get(id.toHexString()));
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Change Stream Service Test - Update replaces a cached student")
+    void update_replaces_cached() {
+        ObjectId id = new ObjectId();
+        var cache = cacheManager.getCache(StudentService.STUDENT_CACHE);
+        cache.put(id.toHexString(), new StudentResponse(id.toHexString(), "John", "Doe", "john.doe@gmail.com"));
+
+        Document document = new Document("_id", id)
+                .append("firstName", "Johnny")
+                .append("lastName", "Doe")
+                .append("email", "john.doe@gmail.com");
+
+        service.apply(event(OperationType.UPDATE, id, document));
+
+        var cached = cache.get(id.toHexString(), StudentResponse.class);
+
+        assertNotNull(cached);
+        assertEquals("Johnny", cached.firstName());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ChangeStreamDocument<Document> event(OperationType type, ObjectId id, Document document) {
+        ChangeStreamDocument<Document> event = mock(ChangeStreamDocument.class);
+
+        when(event.getOperationType()).thenReturn(type);
+        when(event.getDocumentKey()).thenReturn(new BsonDocument("_id", new BsonObjectId(id)));
+        when(event.getFullDocument()).thenReturn(document);
+        when(event.getWallTime()).thenReturn(new BsonDateTime(System.currentTimeMillis()));
+
+        return event;
+    }
+}
@@ -0,0 +1,139 @@
+package com.ffreitas.springtestingexample.service;
+
+import com.ffreitas.springtestingexample.config.StudentPurgeProperties;
+import com.ffreitas.springtestingexample.dto.StudentPurgeRequest;
+import com.ffreitas.springtestingexample.dto.StudentPurgeStatus;
+import com.ffreitas.springtestingexample.entity.Student;
+import com.mongodb.client.result.DeleteResult;
+import org.junit.jupiter.api.*;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Student Purge Service Test
+ * <p>
+ * This class is responsible for testing the batched background purge of students. The job runs on the calling
+ * thread so its final state can be asserted directly.
+ * </p>
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class StudentPurgeServiceTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private Cache cache;
+
+    private final StudentPurgeProperties properties = new StudentPurgeProperties(2, 1000, 1, Duration.ofHours(1));
+
+    private StudentPurgeService service;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        when(cacheManager.getCache(StudentService.STUDENT_CACHE))
+                .thenReturn(cache);
+
+        service = new StudentPurgeService(
+                mongoTemplate,
+                cacheManager,
+                Runnable::run,
+                properties
+        );
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Purge Students Service Test - Ids are deleted in batches")
+    void purge_students_by_ids() {
+        when(mongoTemplate.remove(Mockito.any(Query.class), Mockito.eq(Student.class)))
+                .thenReturn(DeleteResult.acknowledged(2), DeleteResult.acknowledged(2), DeleteResult.acknowledged(1));
+
+        var submitted = service.submitPurge(StudentPurgeRequest.builder()
+                .ids(List.of("1", "2", "3", "4", "5"))
+                .build())
+                .orElseThrow();
+
+        var status = service.getPurge(submitted.id());
+
+        assertEquals(StudentPurgeStatus.State.COMPLETED, status.state());
+        assertEquals(5, status.deleted());
+        assertNotNull(status.finishedAt());
+
+        verify(mongoTemplate, times(3)).remove(Mockito.any(Query.class), Mockito.eq(Student.class));
+        verify(cache, times(5)).evict(Mockito.anyString());
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Purge Students Service Test - Ids and email domain are exclusive")
+    void purge_students_if_ids_and_domain() {
+        var request = StudentPurgeRequest.builder()
+                .ids(List.of("1"))
+                .emailDomain("gmail.com")
+                .build();
+
+        var exp = assertThrows(IllegalArgumentException.class, () -> service.submitPurge(request));
+        assertEquals("Student purge requires either ids or an email domain", exp.getMessage());
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Purge Students Service Test - Unknown job")
+    void get_purge_if_not_found() {
+        var exp = assertThrows(IllegalArgumentException.class, () -> service.getPurge("unknown"));
+        assertEquals("Purge job with id unknown not found", exp.getMessage());
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Purge Students Service Test - Same criteria returns the pending job")
+    void purge_students_if_same_criteria_pending() {
+        List<Runnable> queued = new ArrayList<>();
+        service = new StudentPurgeService(mongoTemplate, cacheManager, queued::add, properties);
+
+        var first = service.submitPurge(StudentPurgeRequest.builder().emailDomain("gmail.com").build()).orElseThrow();
+        var second = service.submitPurge(StudentPurgeRequest.builder().emailDomain(" GMAIL.com ").build()).orElseThrow();
+        var other = service.submitPurge(StudentPurgeRequest.builder().emailDomain("outlook.com").build()).orElseThrow();
+
+        assertEquals(first.id(), second.id());
+        assertNotEquals(first.id(), other.id());
+        assertEquals(2, queued.size());
+
+        queued.getFirst().run();
+
+        var again = service.submitPurge(StudentPurgeRequest.builder().emailDomain("gmail.com").build()).orElseThrow();
+        assertNotEquals(first.id(), again.id());
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("Purge Students Service Test - Full queue rejects the purge")
+    void purge_students_if_queue_full() {
+        service = new StudentPurgeService(mongoTemplate, cacheManager, task -> {
+            throw new RejectedExecutionException();
+        }, properties);
+
+        var status = service.submitPurge(StudentPurgeRequest.builder().ids(List.of("1")).build());
+
+        assertTrue(status.isEmpty());
+    }
+}
@@ -0,0 +1,92 @@
+package com.ffreitas.springtestingexample.service;
+
+import com.ffreitas.springtestingexample.entity.Student;
+import com.ffreitas.springtestingexample.metrics.StudentMetrics;
+import com.ffreitas.springtestingexample.repository.StudentRepository;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.cache.CacheAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Student Service Cache Test
+ * <p>
+ * This class is responsible for testing the read-through cache in front of the Student Service
+ * </p>
+ *   <ul>
+ *       <li>Repeated reads are served from the cache</li>
+ *       <li>Delete Student evicts the cached entry</li>
+ *   </ul>
+ * Only the service and the cache auto-configuration are loaded, the repository is mocked.
+ */
+@SpringBootTest(classes = StudentServiceCacheTest.CacheTestConfiguration.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class StudentServiceCacheTest {
+
+    @Autowired
+    private StudentService service;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @MockBean
+    private StudentRepository repository;
+
+    @MockBean
+    private StudentMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(StudentService.STUDENT_CACHE).clear();
+
+        when(repository.findById("123456789"))
+                .thenReturn(Optional.of(Student.builder()
+                        .id("123456789")
+                        .firstName("John")
+                        .lastName("Doe")
+                        .email("john.doe@gmail.com")
+                        .build()));
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Get Student Cache Test - Second read is a hit")
+    void get_student_is_cached() {
+        var first = service.getStudent("123456789");
+        var second = service.getStudent("123456789");
+
+        assertEquals(first, second);
+        verify(repository, times(1)).findById("123456789");
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Delete Student Cache Test - Entry is evicted")
+    void delete_student_evicts_cache() {
+        service.getStudent("123456789");
+        service.deleteStudent("123456789");
+
+        assertNull(cacheManager.getCache(StudentService.STUDENT_CACHE).get("123456789"));
+
+        service.getStudent("123456789");
+        verify(repository, times(2)).findById("123456789");
+    }
+
+    @Configuration
+    @EnableCaching
+    @Import(StudentService.class)
+    @ImportAutoConfiguration(CacheAutoConfiguration.class)
+    static class CacheTestConfiguration {
+    }
+}
@@ -1,8 +1,10 @@
 package com.ffreitas.springtestingexample.service;
 
+import com.ffreitas.springtestingexample.dto.StudentLookupRequest;
 import com.ffreitas.springtestingexample.dto.StudentRequest;
 import com.ffreitas.springtestingexample.dto.StudentResponse;
 import com.ffreitas.springtestingexample.entity.Student;
+import com.ffreitas.springtestingexample.metrics.StudentMetrics;
 import com.ffreitas.springtestingexample.repository.StudentRepository;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -12,8 +14,18 @@ import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import org.springframework.dao.DuplicateKeyException;
+
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -27,6 +39,11 @@ import static org.mockito.Mockito.*;
  *       <li>Create Student</li>
  *       <li>Get Student</li>
  *       <li>Get All Students</li>
+ *       <li>Get Students Page</li>
+ *       <li>Stream All Students</li>
+ *       <li>Get Student With Field Projection</li>
+ *       <li>Lookup Students</li>
+ *       <li>Coalesce Concurrent Reads</li>
  *       <li>Delete Student</li>
  *   </ul>
  * <b>Important Note</b>: For testing purposes, we could use an in-memory database like H2, but for this example, we are using the MongoDB database.
@@ -40,6 +57,9 @@ class StudentServiceTest {
     @Mock
     private StudentRepository repository;
 
+    @Mock
+    private StudentMetrics metrics;
+
     @InjectMocks
     private StudentService service;
 
@@ -64,10 +84,7 @@ class StudentServiceTest {
                 .email(request.email())
                 .build();
 
-        when(repository.existsByEmail(Mockito.anyString()))
-                .thenReturn(false);
-
-        when(repository.save(Mockito.any(Student.class)))
+        when(repository.insert(Mockito.any(Student.class)))
                 .thenReturn(response);
 
         var result = service.createStudent(request);
@@ -78,8 +95,8 @@ class StudentServiceTest {
         assertEquals(response.getFirstName(), result.firstName());
         assertEquals(response.getLastName(), result.lastName());
 
-        verify(repository, times(1)).existsByEmail(Mockito.anyString());
-        verify(repository, times(1)).save(Mockito.any(Student.class));
+        verify(repository, never()).existsByEmail(Mockito.anyString());
+        verify(repository, times(1)).insert(Mockito.any(Student.class));
     }
 
     @Test
@@ -101,8 +118,8 @@ class StudentServiceTest {
                 .lastName("john.doe@gmail.com")
                 .build();
 
-        when(repository.existsByEmail(request.email()))
-                .thenReturn(true);
+        when(repository.insert(Mockito.any(Student.class)))
+                .thenThrow(new DuplicateKeyException("E11000 duplicate key error collection: studentdb.student index: email"));
 
         var exp = assertThrows(IllegalArgumentException.class, () -> service.createStudent(request));
         assertEquals("Student with email " + request.email() + " already exists", exp.getMessage());
@@ -169,6 +186,7 @@ class StudentServiceTest {
         assertEquals(responseList.size(), result.size());
 
         verify(repository, times(1)).findAll();
+        verify(metrics, times(1)).recordListSize(responseList.size());
     }
 
     @Test
@@ -183,4 +201,214 @@ class StudentServiceTest {
 
         verify(repository, times(1)).deleteById(request);
     }
-}
\ No newline at end of file
+
+    @Test
+    @Order(8)
+    @DisplayName("Get Students Page Service Test")
+    void get_students_page() {
+        var students = List.of(
+                Student.builder().id("66f1a0000000000000000001").firstName("John").lastName("Doe").email("john.doe@gmail.com").build(),
+                Student.builder().id("66f1a0000000000000000002").firstName("Jane").lastName("Doe").email("jane.doe@gmail.com").build(),
+                Student.builder().id("66f1a0000000000000000003").firstName("Jack").lastName("Doe").email("jack.doe@gmail.com").build()
+        );
+
+        when(repository.findPage(null, 3, null))
+                .thenReturn(students);
+
+        var firstPage = service.getStudentsPage(2, null);
+
+        assertEquals(2, firstPage.content().size());
+        assertNotNull(firstPage.nextCursor());
+
+        when(repository.findPage("66f1a0000000000000000002", 3, null))
+                .thenReturn(students.subList(2, 3));
+
+        var secondPage = service.getStudentsPage(2, firstPage.nextCursor());
+
+        assertEquals(1, secondPage.content().size());
+        assertEquals("66f1a0000000000000000003", secondPage.content().getFirst().id());
+        assertNull(secondPage.nextCursor());
+    }
+
+    @Test
+    @Order(9)
+    @DisplayName("Get Students Page Service Test - Cursor is invalid")
+    void get_students_page_if_cursor_is_invalid() {
+        var exp = assertThrows(IllegalArgumentException.class, () -> service.getStudentsPage(10, "%%%"));
+        assertEquals("Cursor %%% is invalid", exp.getMessage());
+    }
+
+    @Test
+    @Order(10)
+    @DisplayName("Stream All Students Service Test")
+    void stream_all_students() {
+        var students = Stream.of(
+                Student.builder().id("123456789").firstName("John").lastName("Doe").email("john.doe@gmail.com").build(),
+                Student.builder().id("987654321").firstName("Jane").lastName("Doe").email("jane.doe@gmail.com").build()
+        );
+
+        when(repository.streamAll(null))
+                .thenReturn(students);
+
+        List<Student> result = new ArrayList<>();
+        service.streamStudents(null, result::add);
+
+        assertEquals(2, result.size());
+        assertEquals("987654321", result.getLast().getId());
+
+        verify(repository, times(1)).streamAll(null);
+    }
+
+    @Test
+    @Order(11)
+    @DisplayName("Get Student Service Test - Field Projection")
+    void get_student_with_fields() {
+        var fields = Set.of("id", "email");
+        var response = Student.builder()
+                .id("123456789")
+                .email("john.doe@gmail.com")
+                .build();
+
+        when(repository.findProjectedById("123456789", fields))
+                .thenReturn(Optional.of(response));
+
+        var actualStudent = service.getStudent("123456789", fields);
+
+        assertEquals("123456789", actualStudent.id());
+        assertEquals("john.doe@gmail.com", actualStudent.email());
+        assertNull(actualStudent.firstName());
+        assertNull(actualStudent.lastName());
+
+        verify(repository, never()).findById(Mockito.anyString());
+    }
+
+    @Test
+    @Order(12)
+    @DisplayName("Lookup Students Service Test - Order is kept and missing ids are reported")
+    void lookup_students() {
+        var request = StudentLookupRequest.builder()
+                .ids(List.of("3", "1", "2"))
+                .build();
+
+        when(repository.findAllById(Mockito.anyIterable()))
+                .thenReturn(List.of(
+                        Student.builder().id("1").email("john.doe@gmail.com").build(),
+                        Student.builder().id("3").email("jane.doe@gmail.com").build()
+                ));
+
+        var result = service.lookupStudents(request);
+
+        assertEquals(List.of("3", "1"), result.students().stream().map(StudentResponse::id).toList());
+        assertEquals(List.of("2"), result.missing());
+
+        verify(repository, times(1)).findAllById(Mockito.anyIterable());
+        verify(repository, never()).findById(Mockito.anyString());
+    }
+
+    @Test
+    @Order(13)
+    @DisplayName("Lookup Students Service Test - Ids and emails are exclusive")
+    void lookup_students_if_ids_and_emails() {
+        var request = StudentLookupRequest.builder()
+                .ids(List.of("1"))
+                .emails(List.of("john.doe@gmail.com"))
+                .build();
+
+        var exp = assertThrows(IllegalArgumentException.class, () -> service.lookupStudents(request));
+        assertEquals("Student lookup requires either ids or emails", exp.getMessage());
+    }
+
+    @Test
+    @Order(14)
+    @DisplayName("Count Students Service Test - Estimated count")
+    void count_students_estimated() {
+        when(repository.estimatedCount())
+                .thenReturn(1200L);
+
+        var result = service.countStudents(true, null, null, null);
+
+        assertEquals(1200L, result.count());
+        assertTrue(result.estimated());
+
+        verify(repository, never()).findAll();
+        verify(repository, never()).countMatching(Mockito.any(), Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    @Order(15)
+    @DisplayName("Count Students Service Test - Estimated count with filter")
+    void count_students_estimated_with_filter() {
+        var exp = assertThrows(IllegalArgumentException.class, () -> service.countStudents(true, "John", null, null));
+        assertEquals("Estimated student count does not support filters", exp.getMessage());
+    }
+
+    @Test
+    @Order(16)
+    @DisplayName("Search Students Service Test - Cursor keeps the last value and id")
+    void search_students() {
+        var students = List.of(
+                Student.builder().id("1").firstName("John").lastName("Doe").email("john.doe@gmail.com").build(),
+                Student.builder().id("2").firstName("Johanna").lastName("Doe").email("johanna.doe@gmail.com").build()
+        );
+
+        when(repository.searchByPrefix("firstName", "Jo", null, null, 2))
+                .thenReturn(students);
+
+        var firstPage = service.searchStudents("firstName", "Jo", 1, null);
+
+        assertEquals(1, firstPage.content().size());
+        assertNotNull(firstPage.nextCursor());
+
+        when(repository.searchByPrefix("firstName", "Jo", "john", "1", 2))
+                .thenReturn(students.subList(1, 2));
+
+        var secondPage = service.searchStudents("firstName", "Jo", 1, firstPage.nextCursor());
+
+        assertEquals("2", secondPage.content().getFirst().id());
+        assertNull(secondPage.nextCursor());
+    }
+
+    @Test
+    @Order(17)
+    @DisplayName("Students Version Service Test - Uses estimated count and last modification")
+    void students_version() {
+        Instant lastModified = Instant.parse("2024-10-01T10:15:30Z");
+
+        when(repository.estimatedCount()).thenReturn(2L);
+        when(repository.findLastModified()).thenReturn(Optional.of(lastModified));
+
+        var version = service.getStudentsVersion();
+
+        assertEquals(2, version.count());
+        assertEquals(lastModified, version.lastModified());
+        verify(repository, never()).findAll();
+    }
+
+    @Test
+    @Order(18)
+    @DisplayName("Get Student Service Test - Concurrent reads of the same id share one query")
+    void get_student_coalesced() throws Exception {
+        var student = Student.builder().id("1").firstName("John").lastName("Doe").email("john.doe@gmail.com").build();
+        var release = new CountDownLatch(1);
+
+        when(repository.findById("1")).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.of(student);
+        });
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<StudentResponse>> responses = new ArrayList<>();
+
+            for (int i = 0; i < 8; i++)
+                responses.add(executor.submit(() -> service.getStudent("1")));
+
+            verify(metrics, timeout(5000).times(7)).recordCoalesced("getStudent");
+            release.countDown();
+
+            for (var response : responses)
+                assertEquals("john.doe@gmail.com", response.get(5, TimeUnit.SECONDS).email());
+        }
+
+        verify(repository, times(1)).findById("1");
+    }
+}
@@ -0,0 +1,94 @@
+package com.ffreitas.springtestingexample.service;
+
+import com.ffreitas.springtestingexample.entity.Student;
+import com.ffreitas.springtestingexample.metrics.StudentMetrics;
+import com.ffreitas.springtestingexample.repository.StudentRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.lang.reflect.Proxy;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Student Service Virtual Thread Test
+ * <p>
+ * Runs the blocking {@link StudentService#getStudent(String)} path on one virtual thread per request.
+ * The throughput comparison with a platform pool lives in {@code StudentServiceThreadingBenchmark}.
+ * </p>
+ *   <ul>
+ *       <li>The repository is a stand-in that blocks for {@link #LATENCY} to simulate a slow Mongo</li>
+ *       <li>No virtual thread may be pinned to its carrier while blocked (JFR jdk.VirtualThreadPinned)</li>
+ *   </ul>
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class StudentServiceVirtualThreadTest {
+
+    private static final Duration LATENCY = Duration.ofMillis(50);
+
+    private static final int REQUESTS = 2000;
+
+    private StudentService service;
+
+    @BeforeEach
+    void setUp() {
+        StudentRepository repository = (StudentRepository) Proxy.newProxyInstance(
+                StudentRepository.class.getClassLoader(),
+                new Class<?>[]{StudentRepository.class},
+                (proxy, method, args) -> {
+                    if (!method.getName().equals("findById"))
+                        throw new UnsupportedOperationException(method.getName());
+
+                    Thread.sleep(LATENCY);
+                    return Optional.of(Student.builder().id((String) args[0]).email(args[0] + "@gmail.com").build());
+                });
+
+        service = new StudentService(repository, new StudentMetrics(new SimpleMeterRegistry()));
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Get Student Load Test - Virtual threads are never pinned")
+    void virtual_threads_are_not_pinned(@TempDir Path directory) throws Exception {
+        Path dump = directory.resolve("pinning.jfr");
+
+        try (Recording recording = new Recording()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ofMillis(10)).withStackTrace();
+            recording.start();
+
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                run(executor);
+            }
+
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        var pinned = RecordingFile.readAllEvents(dump);
+
+        assertTrue(pinned.isEmpty(), () -> "Pinned virtual threads: " + pinned);
+    }
+
+    private void run(ExecutorService executor) throws Exception {
+        List<Future<?>> futures = new ArrayList<>(REQUESTS);
+
+        for (int i = 0; i < REQUESTS; i++) {
+            String id = String.valueOf(i);
+            futures.add(executor.submit(() -> service.getStudent(id)));
+        }
+
+        for (Future<?> future : futures)
+            assertNotNull(future.get());
+    }
+}
@@ -0,0 +1,82 @@
+package com.ffreitas.springtestingexample.validation;
+
+import com.ffreitas.springtestingexample.dto.StudentRequest;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.validation.BeanPropertyBindingResult;
+
+import java.util.List;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Student Request Validator Test
+ * <p>
+ * This class is responsible for testing that the hand-written validator agrees with the Bean Validation
+ * constraints declared on the Student Request
+ * </p>
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class StudentRequestValidatorTest {
+
+    private final Validator beanValidator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    private final StudentRequestValidator validator = new StudentRequestValidator(beanValidator);
+
+    @ParameterizedTest
+    @Order(1)
+    @DisplayName("Student Request Validator Test - Email matches Bean Validation")
+    @ValueSource(strings = {
+            "john.doe@gmail.com", "JOHN+tag@sub.example.co", "a@b", "john@localhost", "o'brien@example.org",
+            "john.doe@@gmail.com", "john..doe@gmail.com", ".john@gmail.com", "john.@gmail.com", "john@", "@gmail.com",
+            "john", "john@gmail..com", "john@gmail.com.", "john@-gmail.com", "john@gmail-.com", "john@gm-ail.com",
+            "john doe@gmail.com", "john@gmail com", "john@gm_ail.com", "\"john doe\"@gmail.com", "john@[127.0.0.1]",
+            "joão@gmail.com", "john@exämple.com", " ", "john@aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa.com",
+            "aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa@gmail.com"
+    })
+    void email_matches_bean_validation(String email) {
+        boolean expected = beanValidator.validateValue(StudentRequest.class, "email", email).isEmpty();
+
+        assertEquals(expected, validator.isValidEmail(email), email);
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Student Request Validator Test - Messages match Bean Validation")
+    void messages_match_bean_validation() {
+        for (var request : List.of(
+                new StudentRequest(null, "John", "Doe", "john.doe@gmail.com"),
+                new StudentRequest(null, "", null, "invalid"),
+                new StudentRequest(null, null, "", null),
+                new StudentRequest(null, "John", "Doe", "")
+        )) {
+            var expected = beanValidator
+                    .validate(request)
+                    .stream()
+                    .map(ConstraintViolation::getMessage)
+                    .collect(Collectors.toCollection(TreeSet::new));
+
+            assertEquals(expected, new TreeSet<>(validator.validate(request)), request.toString());
+        }
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Student Request Validator Test - Field errors carry the rejected value")
+    void field_errors() {
+        var request = new StudentRequest(null, "John", "", "john.doe@@gmail.com");
+        var errors = new BeanPropertyBindingResult(request, "studentRequest");
+
+        validator.validate((Object) request, errors);
+
+        assertEquals(2, errors.getFieldErrorCount());
+        assertEquals(StudentRequest.LAST_NAME_REQUIRED, errors.getFieldError("lastName").getDefaultMessage());
+        assertEquals("john.doe@@gmail.com", errors.getFieldError("email").getRejectedValue());
+    }
+}